@@ -0,0 +1,169 @@
+package com.tapmovie.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.index.MovieIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded in-process LRU cache of movie DTOs by movie ID, with a time-to-live.
+ *
+ * Committed writes replace cached entries through the {@link MovieIndex} callbacks.
+ * To keep a slow database read from overwriting a newer committed state, loads
+ * capture the cache generation before reading and are only cached if no write
+ * happened in between.
+ *
+ * Expired entries are retained for a while as stale copies, served only when the
+ * database cannot be reached. Entries read late in their lifetime are flagged for
+ * a background refresh, so popular movies are reloaded before they expire.
+ */
+@Component
+public class MovieCache implements MovieIndex {
+
+    private final Map<Integer, Entry> entries;
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final long maxStaleNanos;
+
+    // Movies with a background refresh in progress
+    private final Set<Integer> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter staleServes;
+
+    // Incremented on every write, see putIfUnchanged
+    private final AtomicLong generation = new AtomicLong();
+
+    public MovieCache(@Value("${project.movie-cache.max-size:10000}") int maxSize,
+                      @Value("${project.movie-cache.ttl:PT10M}") Duration ttl,
+                      @Value("${project.movie-cache.refresh-ahead:0.8}") double refreshAhead,
+                      @Value("${project.movie-cache.max-stale:PT24H}") Duration maxStale,
+                      MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAfterNanos = (long) (ttlNanos * refreshAhead);
+        this.maxStaleNanos = maxStale.toNanos();
+        this.staleServes = Counter.builder("movie.cache.stale.serves")
+                .description("Movies served from an expired cache entry because the database failed")
+                .register(meterRegistry);
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached movie, if present and not expired.
+     *
+     * @param movieId the movie ID
+     * @return the cached movie, or null on a miss
+     */
+    public MovieDto get(Integer movieId) {
+        Entry entry = entries.get(movieId);
+        if (entry == null || System.nanoTime() - entry.loadedAt() > ttlNanos) {
+            return null; // Expired entries are kept for getStale
+        }
+        return entry.movie();
+    }
+
+    /**
+     * Returns a cached movie even if it has expired, for use when the database fails.
+     * Each returned stale copy is counted.
+     *
+     * @param movieId the movie ID
+     * @return the cached movie, or null if none is retained
+     */
+    public MovieDto getStale(Integer movieId) {
+        Entry entry = entries.get(movieId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt() > ttlNanos + maxStaleNanos) {
+            entries.remove(movieId, entry);
+            return null;
+        }
+        staleServes.increment();
+        return entry.movie();
+    }
+
+    /**
+     * Claims the background refresh of a cached movie that is close to expiry.
+     * Returns true at most once until the refresh is finished.
+     *
+     * @param movieId the movie ID
+     * @return true if the caller should refresh the movie
+     */
+    public boolean startRefresh(Integer movieId) {
+        Entry entry = entries.get(movieId);
+        return entry != null && System.nanoTime() - entry.loadedAt() > refreshAfterNanos && refreshing.add(movieId);
+    }
+
+    /**
+     * Releases a refresh claimed with {@link #startRefresh(Integer)}, whether it succeeded or not.
+     *
+     * @param movieId the movie ID
+     */
+    public void finishRefresh(Integer movieId) {
+        refreshing.remove(movieId);
+    }
+
+    /**
+     * Returns the current generation; capture it before loading from the database.
+     *
+     * @return the current cache generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a loaded movie unless a write happened since the given generation.
+     *
+     * @param movie              the movie loaded from the database
+     * @param expectedGeneration the generation captured before loading
+     */
+    public void putIfUnchanged(MovieDto movie, long expectedGeneration) {
+        synchronized (entries) {
+            if (generation.get() == expectedGeneration) {
+                entries.put(movie.getMovieId(), new Entry(movie, System.nanoTime()));
+            }
+        }
+    }
+
+    @Override
+    public void index(MovieDto movie) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            // Refresh entries that are cached; the startup load must not fill the cache
+            entries.computeIfPresent(movie.getMovieId(), (movieId, entry) -> new Entry(movie, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void remove(Integer movieId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(movieId);
+        }
+    }
+
+    /**
+     * A cached movie and the time it was loaded.
+     */
+    private record Entry(MovieDto movie, long loadedAt) {
+    }
+}
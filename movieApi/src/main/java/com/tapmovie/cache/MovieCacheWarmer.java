@@ -0,0 +1,213 @@
+package com.tapmovie.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.dto.MovieFilter;
+import com.tapmovie.service.MovieService;
+import com.tapmovie.service.PosterVariantService;
+import com.tapmovie.util.AppConstants;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Optional startup phase filling the in-process movie and poster metadata caches.
+ *
+ * The movies warmed are the most viewed ones, in the popularity order kept by the
+ * view counter. At shutdown they are written to a local snapshot file. At startup
+ * the file is memory-mapped and read back: if the catalog version is unchanged the
+ * movies go straight into the cache, otherwise only their IDs are used and the
+ * movies are reloaded in batches. Without a snapshot the most viewed movies are
+ * queried directly. The warm-up runs inside the ApplicationReadyEvent, so the
+ * application reports readiness only once it has completed.
+ */
+@Component
+public class MovieCacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieCacheWarmer.class);
+
+    // File header: magic number, format version, catalog version, movie count
+    private static final int MAGIC = 0x4D4F5643; // "MOVC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES;
+
+    private final MovieCache movieCache;
+    private final MovieService movieService;
+    private final PosterVariantService posterVariantService;
+    private final ObjectMapper objectMapper;
+    private final Timer warmUpTimer;
+
+    @Value("${project.warm-up.enabled:false}")
+    private boolean enabled;
+
+    @Value("${project.warm-up.size:1000}")
+    private int size;
+
+    @Value("${project.warm-up.snapshot-file:}")
+    private String snapshotFile;
+
+    public MovieCacheWarmer(MovieCache movieCache, MovieService movieService,
+                            PosterVariantService posterVariantService, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+        this.movieCache = movieCache;
+        this.movieService = movieService;
+        this.posterVariantService = posterVariantService;
+        this.objectMapper = objectMapper;
+        this.warmUpTimer = Timer.builder("movie.cache.warmup")
+                .description("Duration of the startup cache warm-up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Warms the caches after all other startup listeners have run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            List<MovieDto> movies = readSnapshot();
+            if (movies == null) {
+                movies = loadMostViewedMovies();
+            }
+            posterVariantService.preloadMetadata(movies.stream().map(MovieDto::getPoster).distinct().toList());
+            log.info("Warmed caches with {} movies in {} ms", movies.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Cache warm-up failed; continuing with cold caches", e);
+        } finally {
+            warmUpTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Persists the most viewed movies for the next start.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void writeSnapshot() {
+        if (!enabled || snapshotFile.isBlank()) {
+            return;
+        }
+
+        try {
+            long catalogVersion = movieService.getCatalogVersion();
+            List<byte[]> records = new ArrayList<>();
+            int bytes = HEADER_SIZE;
+            for (MovieDto movie : findMostViewedMovies()) {
+                byte[] json = objectMapper.writeValueAsBytes(movie);
+                records.add(json);
+                bytes += Integer.BYTES + json.length;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(bytes);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(catalogVersion).putInt(records.size());
+            for (byte[] json : records) {
+                buffer.putInt(json.length).put(json);
+            }
+            buffer.flip();
+
+            // Write next to the target and rename, so a crash never leaves a truncated snapshot
+            Path target = Paths.get(snapshotFile);
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote cache snapshot with {} movies at catalog version {}", records.size(), catalogVersion);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write the cache snapshot", e);
+        }
+    }
+
+    // Reads the snapshot file, returning null if there is none or it is unusable
+    private List<MovieDto> readSnapshot() {
+        if (snapshotFile.isBlank() || !Files.isRegularFile(Paths.get(snapshotFile))) {
+            return null;
+        }
+
+        List<MovieDto> movies = new ArrayList<>();
+        long catalogVersion;
+        try (FileChannel channel = FileChannel.open(Paths.get(snapshotFile), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.warn("Ignoring cache snapshot {} with an unknown format", snapshotFile);
+                return null;
+            }
+            catalogVersion = buffer.getLong();
+            int count = buffer.getInt();
+            for (int i = 0; i < count && i < size; i++) {
+                byte[] json = new byte[buffer.getInt()];
+                buffer.get(json);
+                movies.add(objectMapper.readValue(json, MovieDto.class));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable cache snapshot {}", snapshotFile, e);
+            return null;
+        }
+
+        if (catalogVersion == movieService.getCatalogVersion()) {
+            // Nothing changed since the snapshot was written; it can be trusted as is
+            long generation = movieCache.generation();
+            for (MovieDto movie : movies) {
+                movieCache.putIfUnchanged(movie, generation);
+            }
+            return movies;
+        }
+        return reloadMovies(movies.stream().map(MovieDto::getMovieId).toList());
+    }
+
+    // Reloads the given movies in batches; the batch lookup caches every movie it loads
+    private List<MovieDto> reloadMovies(List<Integer> movieIds) {
+        List<MovieDto> movies = new ArrayList<>(movieIds.size());
+        for (int from = 0; from < movieIds.size(); from += AppConstants.MAX_BATCH_SIZE) {
+            List<Integer> batch = movieIds.subList(from, Math.min(from + AppConstants.MAX_BATCH_SIZE, movieIds.size()));
+            movies.addAll(movieService.getMovies(batch).movieDtos());
+        }
+        return movies;
+    }
+
+    // Loads the most viewed movies into the cache when no snapshot is available
+    private List<MovieDto> loadMostViewedMovies() {
+        long generation = movieCache.generation();
+        List<MovieDto> movies = findMostViewedMovies();
+        for (MovieDto movie : movies) {
+            movieCache.putIfUnchanged(movie, generation);
+        }
+        return movies;
+    }
+
+    // Ties, such as movies never viewed, are broken by the newest movie first
+    private List<MovieDto> findMostViewedMovies() {
+        return movieService.getAllMoviesWithPaginationAndSorting(0, size, "popularity", "desc",
+                MovieFilter.NONE, false).movieDtos();
+    }
+}
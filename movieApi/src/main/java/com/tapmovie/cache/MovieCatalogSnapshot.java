@@ -0,0 +1,164 @@
+package com.tapmovie.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.event.MovieChangedEvent;
+import com.tapmovie.service.MovieService;
+import com.tapmovie.util.AppConstants;
+
+/**
+ * Pre-serialized JSON of the full catalog, served by /api/v1/movie/all.
+ *
+ * Every committed movie write schedules a rebuild in the background, tagged with
+ * the persisted catalog version, which also serves as the entity tag. Readers
+ * always get the latest completed snapshot, both as plain and as gzipped bytes,
+ * so serving the catalog is a memory copy.
+ */
+@Component
+public class MovieCatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieCatalogSnapshot.class);
+
+    private final MovieService movieService;
+    private final ObjectMapper objectMapper;
+    private final Executor catalogTaskExecutor;
+
+    private volatile Snapshot current;
+
+    public MovieCatalogSnapshot(MovieService movieService, ObjectMapper objectMapper,
+                                @Qualifier("catalogTaskExecutor") Executor catalogTaskExecutor) {
+        this.movieService = movieService;
+        this.objectMapper = objectMapper;
+        this.catalogTaskExecutor = catalogTaskExecutor;
+    }
+
+    /**
+     * Returns the latest snapshot, building it on the calling thread if none exists yet.
+     *
+     * @return the catalog snapshot
+     */
+    public Snapshot current() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    /**
+     * Builds the first snapshot once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        catalogTaskExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Schedules a rebuild for a committed movie write.
+     *
+     * @param event the movie change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        catalogTaskExecutor.execute(this::rebuild);
+    }
+
+    // Serializes the catalog at the current version, keeping the newest snapshot
+    private synchronized Snapshot rebuild() {
+        // Read the version first: the serialized catalog is at least as new as it, because
+        // getMoviesAfter reads the database rather than the asynchronously updated catalog store
+        long buildVersion = movieService.getCatalogVersion();
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.version() == buildVersion) {
+            return snapshot; // Already up to date
+        }
+
+        try {
+            long start = System.nanoTime();
+            byte[] json = serializeCatalog();
+            snapshot = new Snapshot(buildVersion, "\"" + buildVersion + "\"", json, gzip(json));
+            current = snapshot;
+            log.info("Catalog snapshot version {} built: {} bytes, {} gzipped, in {} ms", buildVersion,
+                    json.length, snapshot.gzippedJson().length, (System.nanoTime() - start) / 1_000_000);
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not build the catalog snapshot", e);
+        }
+    }
+
+    // Streams the catalog into a JSON array in keyset batches
+    private byte[] serializeCatalog() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.writeStartArray();
+            List<MovieDto> batch;
+            Integer lastId = 0;
+            do {
+                batch = movieService.getMoviesAfter(lastId, AppConstants.CATALOG_BATCH_SIZE);
+                for (MovieDto movie : batch) {
+                    objectMapper.writeValue(generator, movie);
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getMovieId();
+                }
+            } while (batch.size() == AppConstants.CATALOG_BATCH_SIZE);
+            generator.writeEndArray();
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * One immutable version of the serialized catalog.
+     *
+     * @param version     the catalog version
+     * @param etag        the quoted entity tag of this version
+     * @param json        the catalog as a JSON array
+     * @param gzippedJson the same JSON, gzip-compressed
+     */
+    public record Snapshot(long version, String etag, byte[] json, byte[] gzippedJson) {
+
+        /**
+         * Checks an If-None-Match header against this version.
+         *
+         * @param ifNoneMatch the header value, may be null
+         * @return true if the client already has this version
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tapmovie.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tapmovie.event.MovieChangedEvent;
+import com.tapmovie.repositories.MovieRepository;
+
+/**
+ * Cached total number of movies, so unfiltered paged listings do not count the
+ * table on every request.
+ *
+ * The count is loaded lazily and then adjusted by committed creates and deletes.
+ * As in {@link MovieCache}, a load only becomes the cached value if no write
+ * committed while the count query was running.
+ */
+@Component
+public class MovieCountCache {
+
+    // Marks the count as not loaded
+    private static final long UNKNOWN = -1;
+
+    private final MovieRepository movieRepository;
+
+    private long count = UNKNOWN;
+    private long generation;
+
+    public MovieCountCache(MovieRepository movieRepository) {
+        this.movieRepository = movieRepository;
+    }
+
+    /**
+     * Returns the total number of movies, counting the table only on a cache miss.
+     *
+     * @return the number of movies
+     */
+    public long count() {
+        long loadGeneration;
+        synchronized (this) {
+            if (count != UNKNOWN) {
+                return count;
+            }
+            loadGeneration = generation;
+        }
+
+        long counted = movieRepository.count();
+        synchronized (this) {
+            if (generation == loadGeneration && count == UNKNOWN) {
+                count = counted;
+            }
+        }
+        return counted;
+    }
+
+    /**
+     * Adjusts the cached count for a committed create or delete.
+     *
+     * @param event the movie change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onMovieChanged(MovieChangedEvent event) {
+        generation++;
+        if (count == UNKNOWN) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> count++;
+            case DELETED -> count = Math.max(0, count - 1);
+            default -> {
+                // Updates do not change the count
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tapmovie.cache;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tapmovie.util.CompactStringSet;
+
+/**
+ * Bounded canonicalizing dictionary for director, studio and cast names.
+ *
+ * The same names repeat across thousands of movies, so every movie read from
+ * the database would otherwise retain its own copies. Names are mapped to one
+ * shared instance through a fixed-size table indexed by hash: a colliding name
+ * simply replaces the previous one, so the table never grows, needs no locking
+ * (strings are immutable and safely published) and keeps the frequent names.
+ */
+@Component
+public class NameInterner {
+
+    private final String[] table;
+    private final int mask;
+
+    public NameInterner(@Value("${project.name-interner.size:65536}") int size) {
+        int tableSize = Integer.highestOneBit(Math.max(16, size) * 2 - 1);
+        this.table = new String[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * Returns the canonical instance of a name.
+     *
+     * @param name the name, may be null
+     * @return an equal string, shared with earlier callers where possible
+     */
+    public String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        int hash = name.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String canonical = table[slot];
+        if (name.equals(canonical)) {
+            return canonical;
+        }
+        table[slot] = name;
+        return name;
+    }
+
+    /**
+     * Returns the canonical instances of a set of names as a compact immutable set.
+     *
+     * @param names the names, may be null
+     * @return the interned names
+     */
+    public Set<String> internAll(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return CompactStringSet.copyOf(null);
+        }
+        Set<String> distinct = CompactStringSet.copyOf(names);
+        String[] interned = new String[distinct.size()];
+        int i = 0;
+        for (String name : distinct) {
+            interned[i++] = intern(name);
+        }
+        return CompactStringSet.wrap(interned);
+    }
+}
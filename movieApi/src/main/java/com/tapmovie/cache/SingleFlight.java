@@ -0,0 +1,82 @@
+package com.tapmovie.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader,
+ * callers arriving while it is in flight wait for and share its result (or its
+ * exception). Nothing is retained once a load completes, so this is not a cache.
+ *
+ * Loads and coalesced callers are counted as movie.reads.loads and
+ * movie.reads.coalesced, tagged with the name of the operation.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.loads = Counter.builder("movie.reads.loads")
+                .description("Loads executed against the database")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("movie.reads.coalesced")
+                .description("Callers that shared an in-flight load instead of running their own")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the result for a key, joining a load already in flight for it.
+     *
+     * @param key    the key identifying the load
+     * @param loader the load to run if none is in flight
+     * @return the loaded value
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    // Waits for another caller's load, rethrowing its exception unchanged
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.tapmovie.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded-memory estimate of the most frequent int keys within a sliding window.
+ *
+ * Counts are kept in count-min sketches: one per bucket of the window, plus one
+ * holding the sum of all buckets. Adding a key increments one cell per sketch
+ * row in the current bucket and in the window sum, using atomic array updates
+ * only, and yields the key's estimated window count; keys whose estimate reaches
+ * the current admission threshold become ranking candidates. Estimates can only
+ * overcount, by at most a small fraction of the total window count.
+ *
+ * {@link #advance()} and {@link #top(int)} must be called from a single
+ * maintenance thread; {@link #add(int)} may be called from any thread.
+ */
+public class SlidingHeavyHitters {
+
+    // Odd multipliers giving each sketch row an independent hash
+    private static final int[] SEEDS = { 0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F, 0x165667B1, 0xD3A2646D };
+
+    private final int depth;
+    private final int width;
+    private final int shift;
+    private final AtomicLongArray[] buckets;
+    private final AtomicLongArray window;
+    private final int maxCandidates;
+
+    private final Set<Integer> candidates = ConcurrentHashMap.newKeySet();
+    private volatile int current;
+    private volatile long threshold;
+
+    /**
+     * @param bucketCount   the number of buckets the window is split into
+     * @param depth         the number of sketch rows (at most 6)
+     * @param width         the number of cells per row, rounded up to a power of two
+     * @param maxCandidates the maximum number of keys tracked for ranking
+     */
+    public SlidingHeavyHitters(int bucketCount, int depth, int width, int maxCandidates) {
+        this.depth = Math.min(depth, SEEDS.length);
+        this.width = Integer.highestOneBit(Math.max(16, width) * 2 - 1);
+        this.shift = Integer.numberOfLeadingZeros(this.width) + 1;
+        this.buckets = new AtomicLongArray[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new AtomicLongArray(this.depth * this.width);
+        }
+        this.window = new AtomicLongArray(this.depth * this.width);
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Counts one occurrence of a key in the current bucket.
+     *
+     * @param key the key
+     */
+    public void add(int key) {
+        AtomicLongArray bucket = buckets[current];
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(key, row);
+            bucket.incrementAndGet(cell);
+            estimate = Math.min(estimate, window.incrementAndGet(cell));
+        }
+        if (estimate >= threshold && !candidates.contains(key) && candidates.size() < maxCandidates) {
+            candidates.add(key);
+        }
+    }
+
+    /**
+     * Returns the estimated count of a key within the window.
+     *
+     * @param key the key
+     * @return the estimated count, never less than the true count
+     */
+    public long estimate(int key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, window.get(cell(key, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Starts a new bucket, dropping the counts of the oldest one from the window.
+     */
+    public void advance() {
+        int next = (current + 1) % buckets.length;
+        AtomicLongArray expiring = buckets[next];
+        for (int cell = 0; cell < expiring.length(); cell++) {
+            long count = expiring.getAndSet(cell, 0);
+            if (count != 0) {
+                window.addAndGet(cell, -count);
+            }
+        }
+        current = next;
+    }
+
+    /**
+     * Ranks the candidates by their estimated window count, dropping candidates
+     * that have fallen out of the window or far down the ranking.
+     *
+     * @param k the number of keys to return
+     * @return up to k keys with their estimated counts, highest first
+     */
+    public List<Count> top(int k) {
+        List<Count> ranked = new ArrayList<>(candidates.size());
+        for (Integer key : candidates) {
+            long estimate = estimate(key);
+            if (estimate > 0) {
+                ranked.add(new Count(key, estimate));
+            } else {
+                candidates.remove(key);
+            }
+        }
+        ranked.sort(Comparator.comparingLong(Count::count).reversed());
+
+        // Keep half of the candidate slots, so rising keys can still be admitted
+        int keep = Math.max(k, maxCandidates / 2);
+        for (int i = keep; i < ranked.size(); i++) {
+            candidates.remove(ranked.get(i).key());
+        }
+        threshold = ranked.size() >= keep ? ranked.get(keep - 1).count() : 0;
+        return List.copyOf(ranked.subList(0, Math.min(k, ranked.size())));
+    }
+
+    /**
+     * Stops tracking a key as a candidate, e.g. because it no longer exists.
+     *
+     * @param key the key
+     */
+    public void remove(int key) {
+        candidates.remove(key);
+    }
+
+    // Multiplicative hashing: the top bits of the product depend on all bits of the key
+    private int cell(int key, int row) {
+        return row * width + ((key * SEEDS[row]) >>> shift);
+    }
+
+    /**
+     * A key with its estimated count.
+     *
+     * @param key   the key
+     * @param count the estimated count
+     */
+    public record Count(int key, long count) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.tapmovie.cache;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Marks the current request as answered with stale cached data, so the response
+ * can be flagged accordingly. Outside of a web request marking has no effect.
+ */
+public final class StaleReads {
+
+    private static final String ATTRIBUTE = StaleReads.class.getName() + ".stale";
+
+    private StaleReads() {
+    }
+
+    /**
+     * Marks the current request as served (at least partly) from stale data.
+     */
+    public static void markCurrentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Checks whether the current request was marked as served from stale data.
+     *
+     * @return true if stale data was served
+     */
+    public static boolean isCurrentRequestMarked() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
@@ -0,0 +1,188 @@
+package com.tapmovie.cache;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.dto.TrendingMovie;
+import com.tapmovie.dto.TrendingWindow;
+import com.tapmovie.index.MovieIndex;
+import com.tapmovie.service.MovieService;
+import com.tapmovie.util.AppConstants;
+
+/**
+ * Most viewed movies over the last hour and the last day, served by
+ * /api/v1/movie/trending.
+ *
+ * Movie and poster requests are counted per window in a {@link SlidingHeavyHitters}
+ * sketch, so memory stays bounded however many movies are viewed and recording a
+ * view takes no locks. A scheduled refresh slides the windows, ranks the
+ * candidates and resolves their movies; readers get the latest ranking, so a
+ * request never touches the sketches or the database.
+ *
+ * As a {@link MovieIndex} it maps poster file names to movies, so poster
+ * requests count as views of their movie.
+ */
+@Component
+public class TrendingMovies implements MovieIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingMovies.class);
+
+    private final MovieService movieService;
+    private final int topK;
+    private final Map<TrendingWindow, Window> windows = new EnumMap<>(TrendingWindow.class);
+
+    // Poster file name to movie ID, and back to drop replaced posters
+    private final Map<String, Integer> movieIdsByPoster = new ConcurrentHashMap<>();
+    private final Map<Integer, String> postersByMovieId = new ConcurrentHashMap<>();
+
+    private volatile Map<TrendingWindow, List<TrendingMovie>> rankings = Map.of();
+
+    public TrendingMovies(MovieService movieService,
+                          @Value("${project.trending.top-k:100}") int topK,
+                          @Value("${project.trending.sketch-depth:4}") int sketchDepth,
+                          @Value("${project.trending.sketch-width:4096}") int sketchWidth) {
+        this.movieService = movieService;
+        this.topK = Math.min(topK, AppConstants.MAX_BATCH_SIZE);
+        long now = System.currentTimeMillis();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            long bucketMillis = window.getBucketDuration().toMillis();
+            windows.put(window, new Window(bucketMillis, window.getBucketCount(), now / bucketMillis,
+                    new SlidingHeavyHitters(window.getBucketCount(), sketchDepth, sketchWidth, this.topK * 8)));
+        }
+    }
+
+    /**
+     * Counts a view of a movie in every window.
+     *
+     * @param movieId the ID of the viewed movie
+     */
+    public void recordView(Integer movieId) {
+        for (Window window : windows.values()) {
+            window.sketch.add(movieId);
+        }
+    }
+
+    /**
+     * Counts a poster request as a view of the movie showing the poster.
+     *
+     * @param fileName the requested poster file name
+     */
+    public void recordPosterView(String fileName) {
+        Integer movieId = movieIdsByPoster.get(fileName);
+        if (movieId != null) {
+            recordView(movieId);
+        }
+    }
+
+    /**
+     * Returns the most viewed movies of a window as of the last refresh.
+     *
+     * @param window the window
+     * @param limit  the maximum number of movies
+     * @return the movies with their estimated views, most viewed first
+     */
+    public List<TrendingMovie> get(TrendingWindow window, int limit) {
+        List<TrendingMovie> ranking = rankings.getOrDefault(window, List.of());
+        return ranking.subList(0, Math.max(0, Math.min(limit, ranking.size())));
+    }
+
+    /**
+     * Slides the windows and recomputes the rankings. Scheduled with a fixed delay,
+     * so refreshes never overlap.
+     */
+    @Scheduled(initialDelayString = "${project.trending.refresh-interval:PT10S}",
+            fixedDelayString = "${project.trending.refresh-interval:PT10S}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        Map<TrendingWindow, List<TrendingMovie>> refreshed = new EnumMap<>(TrendingWindow.class);
+        try {
+            for (Map.Entry<TrendingWindow, Window> entry : windows.entrySet()) {
+                refreshed.put(entry.getKey(), rank(entry.getValue(), now));
+            }
+            rankings = refreshed;
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the trending movies; keeping the previous ranking", e);
+        }
+    }
+
+    // Starts the buckets due by now, then resolves the top candidates in ranking order
+    private List<TrendingMovie> rank(Window window, long now) {
+        // After a long pause every bucket has expired; advancing once per bucket empties the window
+        long bucket = now / window.bucketMillis;
+        long due = Math.min(bucket - window.bucket, window.bucketCount);
+        for (long i = 0; i < due; i++) {
+            window.sketch.advance();
+        }
+        window.bucket = bucket;
+
+        List<SlidingHeavyHitters.Count> top = window.sketch.top(topK);
+        if (top.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> movieIds = top.stream().map(SlidingHeavyHitters.Count::key).toList();
+        Map<Integer, MovieDto> movies = movieService.getMovies(movieIds).movieDtos().stream()
+                .collect(Collectors.toMap(MovieDto::getMovieId, Function.identity()));
+
+        List<TrendingMovie> ranking = new ArrayList<>(top.size());
+        for (SlidingHeavyHitters.Count count : top) {
+            MovieDto movie = movies.get(count.key());
+            if (movie != null) { // Deleted since it was viewed
+                ranking.add(new TrendingMovie(movie, count.count()));
+            }
+        }
+        return List.copyOf(ranking);
+    }
+
+    @Override
+    public void index(MovieDto movie) {
+        if (movie.getPoster() == null) {
+            remove(movie.getMovieId());
+            return;
+        }
+        String previous = postersByMovieId.put(movie.getMovieId(), movie.getPoster());
+        if (previous != null && !previous.equals(movie.getPoster())) {
+            movieIdsByPoster.remove(previous, movie.getMovieId());
+        }
+        movieIdsByPoster.put(movie.getPoster(), movie.getMovieId());
+    }
+
+    @Override
+    public void remove(Integer movieId) {
+        String poster = postersByMovieId.remove(movieId);
+        if (poster != null) {
+            movieIdsByPoster.remove(poster, movieId);
+        }
+        for (Window window : windows.values()) {
+            window.sketch.remove(movieId);
+        }
+    }
+
+    /**
+     * One sliding window: its sketch and the bucket it is currently counting into.
+     */
+    private static final class Window {
+        private final long bucketMillis;
+        private final int bucketCount;
+        private final SlidingHeavyHitters sketch;
+        private long bucket; // Only accessed by the refresh
+
+        Window(long bucketMillis, int bucketCount, long bucket, SlidingHeavyHitters sketch) {
+            this.bucketMillis = bucketMillis;
+            this.bucketCount = bucketCount;
+            this.bucket = bucket;
+            this.sketch = sketch;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tapmovie.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration class enabling asynchronous method execution.
+ * Provides dedicated executors for poster processing, catalog snapshot rebuilds
+ * and cache refreshes so background work never competes with request handling threads.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Creates the executor used for post-upload poster processing.
+     * When the queue is full new tasks are discarded; the original poster
+     * is always served as a fallback, so a missing variant is harmless.
+     *
+     * @return the poster task executor
+     */
+    @Bean(name = "posterTaskExecutor")
+    public Executor posterTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("poster-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Creates the executor rebuilding the catalog snapshot after writes.
+     * A single thread with room for one queued rebuild: a queued rebuild always
+     * reads the latest catalog, so further requests are discarded.
+     *
+     * @return the catalog task executor
+     */
+    @Bean(name = "catalogTaskExecutor")
+    public Executor catalogTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("catalog-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Creates the executor refreshing cached movies ahead of their expiry.
+     * Rejected refreshes are reported to the caller, which releases its claim
+     * so a later read can retry.
+     *
+     * @return the cache refresh task executor
+     */
+    @Bean(name = "cacheRefreshTaskExecutor")
+    public Executor cacheRefreshTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,13 @@
+package com.tapmovie.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling scheduled background jobs such as the
+ * poster garbage collector.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,35 @@
+package com.tapmovie.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.tapmovie.cache.StaleReads;
+import com.tapmovie.util.AppConstants;
+
+/**
+ * Adds the stale data header to responses built from expired cache entries
+ * because the database could not be reached.
+ */
+@RestControllerAdvice
+public class StaleDataResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (StaleReads.isCurrentRequestMarked()) {
+            response.getHeaders().set(AppConstants.STALE_DATA_HEADER, "true");
+        }
+        return body;
+    }
+}
@@ -2,6 +2,8 @@ package com.tapmovie.controller;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Optional;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -10,10 +12,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import com.tapmovie.cache.TrendingMovies;
+import com.tapmovie.entity.PosterFile;
 import com.tapmovie.service.FileService;
+import com.tapmovie.service.PosterVariantService;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
@@ -25,6 +31,8 @@ import jakarta.servlet.http.HttpServletResponse;
 @RequestMapping("/file/")
 public class FileController {
     private final FileService fileService;
+    private final PosterVariantService posterVariantService;
+    private final TrendingMovies trendingMovies;
 
     // Path to store uploaded files, injected from application properties
     @Value("${project.poster}")
@@ -33,10 +41,15 @@ public class FileController {
     /**
      * Constructs a FileController with the specified FileService.
      *
-     * @param fileService the service to handle file operations
+     * @param fileService          the service to handle file operations
+     * @param posterVariantService the service resolving downscaled poster variants
+     * @param trendingMovies       the view counts poster requests are recorded in
      */
-    public FileController(FileService fileService) {
+    public FileController(FileService fileService, PosterVariantService posterVariantService,
+            TrendingMovies trendingMovies) {
         this.fileService = fileService;
+        this.posterVariantService = posterVariantService;
+        this.trendingMovies = trendingMovies;
     }
 
     /**
@@ -56,20 +69,34 @@ public class FileController {
      * Handles requests to serve a file.
      *
      * @param fileName the name of the file to be retrieved
+     * @param w        the optional width the client renders the poster at
      * @param response the HTTP response object to write the file to
      * @throws IOException if an error occurs while retrieving the file
      */
     @GetMapping("/{fileName}")
-    public void serveFileHandler(@PathVariable String fileName, HttpServletResponse response) throws IOException {
-        InputStream resourceFile = fileService.getResourceFile(path, fileName);
-        
-        // Determine content type based on file extension
-        String extension = getFileExtension(fileName);
-        MediaType mediaType = getMediaType(extension);
-        
-        // Set the response content type and write the file to the response output stream
-        response.setContentType(mediaType != null ? mediaType.toString() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
-        StreamUtils.copy(resourceFile, response.getOutputStream());
+    public void serveFileHandler(@PathVariable String fileName, @RequestParam(required = false) Integer w,
+            HttpServletResponse response) throws IOException {
+        // Serve the smallest variant covering the requested width, or the original
+        String servedFileName = posterVariantService.resolveVariant(path, fileName, w);
+
+        // Prefer the media type and size detected at upload time
+        Optional<PosterFile> metadata = fileService.getFileMetadata(servedFileName);
+        if (metadata.isPresent()) {
+            response.setContentType(metadata.get().getMediaType());
+            response.setContentLengthLong(metadata.get().getFileSize());
+        } else {
+            // Files stored before metadata was recorded fall back to the file extension
+            MediaType mediaType = getMediaType(getFileExtension(fileName));
+            response.setContentType(mediaType != null ? mediaType.toString() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        }
+
+        // Write the file to the response output stream
+        try (InputStream resourceFile = fileService.getResourceFile(path, servedFileName)) {
+            StreamUtils.copy(resourceFile, response.getOutputStream());
+        }
+
+        // A poster shown to a client counts as a view of its movie
+        trendingMovies.recordPosterView(fileName);
     }
 
     // Helper method to get the file extension from a filename
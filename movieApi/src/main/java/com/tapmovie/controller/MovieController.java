@@ -1,9 +1,12 @@
 package com.tapmovie.controller;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,17 +14,31 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tapmovie.cache.MovieCatalogSnapshot;
+import com.tapmovie.cache.MovieCatalogSnapshot.Snapshot;
+import com.tapmovie.cache.TrendingMovies;
+import com.tapmovie.dto.MovieBatchRequest;
+import com.tapmovie.dto.MovieBatchResponse;
 import com.tapmovie.dto.MovieDto;
+import com.tapmovie.dto.MovieFacetsResponse;
+import com.tapmovie.dto.MovieFilter;
+import com.tapmovie.dto.MovieImportResponse;
 import com.tapmovie.dto.MoviePageResponse;
+import com.tapmovie.dto.MovieSuggestion;
+import com.tapmovie.dto.TrendingMovie;
+import com.tapmovie.dto.TrendingWindow;
 import com.tapmovie.service.MovieService;
 import com.tapmovie.util.AppConstants;
 
@@ -35,14 +52,21 @@ import com.tapmovie.util.AppConstants;
 public class MovieController {
 
     private final MovieService movieService;
+    private final MovieCatalogSnapshot movieCatalogSnapshot;
+    private final TrendingMovies trendingMovies;
 
     /**
      * Constructs a MovieController with the specified MovieService.
      *
-     * @param movieService the service responsible for movie operations
+     * @param movieService         the service responsible for movie operations
+     * @param movieCatalogSnapshot the pre-serialized catalog served by /all
+     * @param trendingMovies       the view counts and rankings served by /trending
      */
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, MovieCatalogSnapshot movieCatalogSnapshot,
+            TrendingMovies trendingMovies) {
         this.movieService = movieService;
+        this.movieCatalogSnapshot = movieCatalogSnapshot;
+        this.trendingMovies = trendingMovies;
     }
 
     /**
@@ -61,6 +85,20 @@ public class MovieController {
         return new ResponseEntity<>(movieService.addMovie(convertToMovieDto, file), HttpStatus.CREATED);
     }
 
+    /**
+     * Imports many movies from a newline-delimited JSON stream, one MovieDto per line.
+     * Posters must reference files that were already uploaded via /file/upload.
+     *
+     * @param ndjson the request body stream
+     * @return a ResponseEntity containing the import summary with per-row errors and HTTP status OK
+     * @throws IOException if there's an error reading the request body
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<MovieImportResponse> importMoviesHandler(InputStream ndjson) throws IOException {
+        return ResponseEntity.ok(movieService.importMovies(ndjson));
+    }
+
     /**
      * Retrieves a specific movie by its ID.
      *
@@ -69,17 +107,82 @@ public class MovieController {
      */
     @GetMapping("/{movieId}")
     public ResponseEntity<MovieDto> getMovieHandler(@PathVariable Integer movieId) {
-        return ResponseEntity.ok(movieService.getMovie(movieId));
+        MovieDto movieDto = movieService.getMovie(movieId);
+        trendingMovies.recordView(movieId);
+        return ResponseEntity.ok(movieDto);
+    }
+
+    /**
+     * Retrieves the movies sharing the most directors, studios and cast members with a movie.
+     *
+     * @param movieId the ID of the movie to find similar movies for
+     * @param limit   the maximum number of movies (default is SIMILAR_LIMIT)
+     * @return a ResponseEntity containing the similar movies, most similar first, and HTTP status OK
+     */
+    @GetMapping("/{movieId}/similar")
+    public ResponseEntity<List<MovieDto>> getSimilarMoviesHandler(@PathVariable Integer movieId,
+            @RequestParam(defaultValue = "" + AppConstants.SIMILAR_LIMIT, required = false) Integer limit) {
+        return ResponseEntity.ok(movieService.getSimilarMovies(movieId, limit));
     }
 
     /**
-     * Retrieves all movies in the system.
+     * Retrieves several movies by their IDs in one request.
      *
-     * @return a ResponseEntity containing a list of MovieDto and HTTP status OK
+     * @param request the IDs of the movies to retrieve (at most MAX_BATCH_SIZE)
+     * @return a ResponseEntity containing the found movies in request order, the missing IDs and HTTP status OK
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<MovieBatchResponse> getMoviesBatchHandler(@RequestBody MovieBatchRequest request) {
+        List<Integer> movieIds = request.movieIds() != null ? request.movieIds() : List.of();
+        return ResponseEntity.ok(movieService.getMovies(movieIds));
+    }
+
+    /**
+     * Retrieves all movies in the system from the pre-serialized catalog snapshot.
+     *
+     * @param ifNoneMatch    the entity tag of the catalog version the client already has, if any
+     * @param acceptEncoding the encodings accepted by the client; gzip is served pre-compressed
+     * @return a ResponseEntity containing the JSON list of movies with its ETag, or 304 if unchanged
      */
     @GetMapping("/all")
-    public ResponseEntity<List<MovieDto>> getAllMovieHandler() {
-        return ResponseEntity.ok(movieService.getAllMovies());
+    public ResponseEntity<byte[]> getAllMovieHandler(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Snapshot snapshot = movieCatalogSnapshot.current();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] body = gzip ? snapshot.gzippedJson() : snapshot.json();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Streams the movie changes after a catalog version as newline-delimited JSON:
+     * one UPSERT line per inserted or updated movie and one DELETE line per deleted movie.
+     * The catalog version covered by the response is returned in the X-Catalog-Version
+     * header, to be passed as {@code since} on the next sync.
+     *
+     * @param since the catalog version the client is synced to (default is 0, a full sync)
+     * @return a ResponseEntity streaming the changes and HTTP status OK
+     */
+    @GetMapping(value = "/changes", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> getMovieChangesHandler(
+            @RequestParam(defaultValue = "0", required = false) Long since) {
+        long until = movieService.getCatalogVersion();
+        StreamingResponseBody body = output -> movieService.writeChanges(since, until, output);
+        return ResponseEntity.ok()
+                .header(AppConstants.CATALOG_VERSION_HEADER, String.valueOf(until))
+                .body(body);
     }
 
     /**
@@ -116,15 +219,19 @@ public class MovieController {
     /**
      * Retrieves movies with pagination.
      *
-     * @param page the page number (default is PAGE_NUMBER)
-     * @param size the number of movies per page (default is PAGE_SIZE)
+     * @param page   the page number (default is PAGE_NUMBER)
+     * @param size   the number of movies per page (default is PAGE_SIZE)
+     * @param filter     optional director, studio, yearFrom, yearTo and cast filters
+     * @param withTotals whether to compute totalElements and totalPages (default is true)
      * @return a ResponseEntity containing a MoviePageResponse with paginated movies and HTTP status OK
      */
     @GetMapping("/allMoviesPage")
     public ResponseEntity<MoviePageResponse> getMoviesWithPagination(
             @RequestParam(defaultValue = "" + AppConstants.PAGE_NUMBER, required = false) Integer page,
-            @RequestParam(defaultValue = "" + AppConstants.PAGE_SIZE, required = false) Integer size) {
-        MoviePageResponse response = movieService.getAllMoviesWithPagination(page, size);
+            @RequestParam(defaultValue = "" + AppConstants.PAGE_SIZE, required = false) Integer size,
+            MovieFilter filter,
+            @RequestParam(defaultValue = "true", required = false) boolean withTotals) {
+        MoviePageResponse response = movieService.getAllMoviesWithPagination(page, size, filter, withTotals);
         return ResponseEntity.ok(response);
     }
 
@@ -133,8 +240,10 @@ public class MovieController {
      *
      * @param page    the page number (default is PAGE_NUMBER)
      * @param size    the number of movies per page (default is PAGE_SIZE)
-     * @param sortBy  the field to sort by (default is SORT_BY)
+     * @param sortBy  the field to sort by (default is SORT_BY); "popularity" sorts by number of views
      * @param sortDir the direction of sorting (default is SORT_DIR)
+     * @param filter  optional director, studio, yearFrom, yearTo and cast filters
+     * @param withTotals whether to compute totalElements and totalPages (default is true)
      * @return a ResponseEntity containing a MoviePageResponse with sorted and paginated movies and HTTP status OK
      */
     @GetMapping("/allMoviesPageSort")
@@ -142,11 +251,70 @@ public class MovieController {
             @RequestParam(defaultValue = "" + AppConstants.PAGE_NUMBER, required = false) Integer page,
             @RequestParam(defaultValue = "" + AppConstants.PAGE_SIZE, required = false) Integer size,
             @RequestParam(defaultValue = AppConstants.SORT_BY, required = false) String sortBy,
-            @RequestParam(defaultValue = AppConstants.SORT_DIR, required = false) String sortDir) {
-        MoviePageResponse response = movieService.getAllMoviesWithPaginationAndSorting(page, size, sortBy, sortDir);
+            @RequestParam(defaultValue = AppConstants.SORT_DIR, required = false) String sortDir,
+            MovieFilter filter,
+            @RequestParam(defaultValue = "true", required = false) boolean withTotals) {
+        MoviePageResponse response = movieService.getAllMoviesWithPaginationAndSorting(page, size, sortBy, sortDir,
+                filter, withTotals);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Searches movies by title, director, studio and cast.
+     *
+     * @param q     the free-text query; the last word may be incomplete
+     * @param limit the maximum number of results (default is SEARCH_LIMIT)
+     * @return a ResponseEntity containing the matching movies, best match first, and HTTP status OK
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<MovieDto>> searchMoviesHandler(@RequestParam String q,
+            @RequestParam(defaultValue = "" + AppConstants.SEARCH_LIMIT, required = false) Integer limit) {
+        return ResponseEntity.ok(movieService.searchMovies(q, limit));
+    }
+
+    /**
+     * Suggests titles, directors and cast names starting with a prefix, for typeahead.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions (default is SUGGEST_LIMIT)
+     * @return a ResponseEntity containing the suggestions, most common first, and HTTP status OK
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<MovieSuggestion>> suggestMoviesHandler(@RequestParam String prefix,
+            @RequestParam(defaultValue = "" + AppConstants.SUGGEST_LIMIT, required = false) Integer limit) {
+        return ResponseEntity.ok(movieService.suggestMovies(prefix, limit));
+    }
+
+    /**
+     * Retrieves movie counts per studio, director and release-year bucket.
+     *
+     * @param filter     optional director, studio, yearFrom, yearTo and cast filters constraining the counts
+     * @param yearBucket the number of years per release-year bucket (default is FACET_YEAR_BUCKET)
+     * @param limit      the maximum number of values per facet (default is FACET_LIMIT)
+     * @return a ResponseEntity containing the facet counts and HTTP status OK
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<MovieFacetsResponse> getMovieFacetsHandler(MovieFilter filter,
+            @RequestParam(defaultValue = "" + AppConstants.FACET_YEAR_BUCKET, required = false) Integer yearBucket,
+            @RequestParam(defaultValue = "" + AppConstants.FACET_LIMIT, required = false) Integer limit) {
+        return ResponseEntity.ok(movieService.getMovieFacets(filter, yearBucket, limit));
+    }
+
+    /**
+     * Retrieves the most viewed movies over a recent window. The ranking is refreshed
+     * periodically, so it may lag the latest views by a few seconds.
+     *
+     * @param window the window to rank over, "hour" or "day" (default is "hour")
+     * @param limit  the maximum number of movies (default is TRENDING_LIMIT)
+     * @return a ResponseEntity containing the movies with their estimated views, most viewed first, and HTTP status OK
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingMovie>> getTrendingMoviesHandler(
+            @RequestParam(defaultValue = "hour", required = false) String window,
+            @RequestParam(defaultValue = "" + AppConstants.TRENDING_LIMIT, required = false) Integer limit) {
+        return ResponseEntity.ok(trendingMovies.get(TrendingWindow.from(window), limit));
+    }
+
     /**
      * Converts a JSON string representation of MovieDto to a MovieDto object.
      *
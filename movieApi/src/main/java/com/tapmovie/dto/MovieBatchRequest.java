@@ -0,0 +1,12 @@
+package com.tapmovie.dto;
+
+import java.util.List;
+
+/**
+ * Represents a request for several movies at once.
+ *
+ * @param movieIds the IDs of the requested movies
+ */
+public record MovieBatchRequest(List<Integer> movieIds) {
+
+}
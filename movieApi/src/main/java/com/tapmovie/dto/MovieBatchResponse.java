@@ -0,0 +1,13 @@
+package com.tapmovie.dto;
+
+import java.util.List;
+
+/**
+ * Represents the response to a batch movie lookup.
+ *
+ * @param movieDtos  the found movies, in the order they were requested
+ * @param missingIds the requested IDs for which no movie exists
+ */
+public record MovieBatchResponse(List<MovieDto> movieDtos, List<Integer> missingIds) {
+
+}
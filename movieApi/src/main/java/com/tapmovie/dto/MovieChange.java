@@ -0,0 +1,20 @@
+package com.tapmovie.dto;
+
+/**
+ * Represents one line of the delta-sync stream: a movie inserted or updated at a
+ * catalog version, or a movie deleted at a catalog version.
+ *
+ * @param type    whether the movie was upserted or deleted
+ * @param version the catalog version of the change
+ * @param movieId the ID of the changed movie
+ * @param movie   the current movie for upserts, null for deletes
+ */
+public record MovieChange(Type type, long version, Integer movieId, MovieDto movie) {
+
+    /**
+     * The kinds of changes reported to syncing clients.
+     */
+    public enum Type {
+        UPSERT, DELETE
+    }
+}
@@ -32,6 +32,8 @@ public class MovieDto {
     @NotBlank(message = "Please provide movie's posterUrl")
     private String posterUrl;
 
+    private String placeholder;
+
     // No-argument constructor
     public MovieDto() {
     }
@@ -39,7 +41,7 @@ public class MovieDto {
     // All-argument constructor
     public MovieDto(Integer movieId, String title, String director, String studio, 
                     Set<String> movieCast, Integer releaseYear, String poster, 
-                    String posterUrl) {
+                    String posterUrl, String placeholder) {
         this.movieId = movieId;
         this.title = title;
         this.director = director;
@@ -48,6 +50,7 @@ public class MovieDto {
         this.releaseYear = releaseYear;
         this.poster = poster;
         this.posterUrl = posterUrl;
+        this.placeholder = placeholder;
     }
 
     // Getters and Setters
@@ -114,4 +117,12 @@ public class MovieDto {
     public void setPosterUrl(String posterUrl) {
         this.posterUrl = posterUrl;
     }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    public void setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+    }
 }
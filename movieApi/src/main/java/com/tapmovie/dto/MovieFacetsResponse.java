@@ -0,0 +1,16 @@
+package com.tapmovie.dto;
+
+import java.util.Map;
+
+/**
+ * Represents the facet counts shown next to the listing filters.
+ * Each map is ordered by descending count.
+ *
+ * @param studios      number of movies per studio
+ * @param directors    number of movies per director
+ * @param releaseYears number of movies per release-year bucket (e.g. "1990-1999")
+ */
+public record MovieFacetsResponse(Map<String, Long> studios, Map<String, Long> directors,
+        Map<String, Long> releaseYears) {
+
+}
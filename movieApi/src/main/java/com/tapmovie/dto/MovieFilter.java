@@ -0,0 +1,32 @@
+package com.tapmovie.dto;
+
+/**
+ * Represents the optional filters of the paged movie listing.
+ * Bound from the request parameters of the same names; null fields do not filter.
+ *
+ * @param director the exact director name
+ * @param studio   the exact studio name
+ * @param yearFrom the earliest release year, inclusive
+ * @param yearTo   the latest release year, inclusive
+ * @param cast     the exact name of a cast member
+ */
+public record MovieFilter(String director, String studio, Integer yearFrom, Integer yearTo, String cast) {
+
+    /**
+     * Filter that matches every movie.
+     */
+    public static final MovieFilter NONE = new MovieFilter(null, null, null, null, null);
+
+    /**
+     * Checks whether no filter is set.
+     *
+     * @return true if the filter matches every movie
+     */
+    public boolean isEmpty() {
+        return isBlank(director) && isBlank(studio) && yearFrom == null && yearTo == null && isBlank(cast);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
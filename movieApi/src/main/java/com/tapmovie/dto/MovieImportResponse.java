@@ -0,0 +1,23 @@
+package com.tapmovie.dto;
+
+import java.util.List;
+
+/**
+ * Represents the result of a bulk movie import.
+ *
+ * @param imported the number of movies inserted
+ * @param failed   the number of rows rejected or rolled back
+ * @param errors   the first row errors, by line number
+ */
+public record MovieImportResponse(int imported, int failed, List<ImportError> errors) {
+
+    /**
+     * Describes why one input row was not imported.
+     *
+     * @param line    the 1-based line number in the input
+     * @param message the reason the row was rejected
+     */
+    public record ImportError(long line, String message) {
+
+    }
+}
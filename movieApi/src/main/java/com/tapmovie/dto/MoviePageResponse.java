@@ -29,8 +29,11 @@ import java.util.List;
  * 5. **Immutability**: All fields are final, ensuring that the data 
  *    cannot be modified after the record is created, enhancing safety 
  *    in multi-threaded applications.
+ * 
+ * totalElements and totalPages are null when the client asked to skip totals;
+ * isLast is always set.
  */
-public record MoviePageResponse(List<MovieDto> movieDtos,Integer pageNumber,Integer pageSize,long totalElements,int totalPages,boolean isLast) {
+public record MoviePageResponse(List<MovieDto> movieDtos,Integer pageNumber,Integer pageSize,Long totalElements,Integer totalPages,boolean isLast) {
 	
 }
 
@@ -0,0 +1,23 @@
+package com.tapmovie.dto;
+
+/**
+ * Read-only projection of the scalar columns of a movie.
+ * Selected through constructor expressions, so read queries never hydrate
+ * managed Movie entities; the cast is loaded separately per page of rows.
+ * Director and studio names are only selected for movies not yet migrated to
+ * the person and studio tables; otherwise they are resolved from their IDs.
+ *
+ * @param movieId     the ID of the movie
+ * @param title       the title of the movie
+ * @param director    the director of the movie, null once migrated
+ * @param studio      the studio of the movie, null once migrated
+ * @param directorId  the person ID of the director, null until migrated
+ * @param studioId    the ID of the studio, null until migrated
+ * @param releaseYear the release year of the movie
+ * @param poster      the poster file name
+ * @param placeholder the inline poster placeholder
+ */
+public record MovieRow(Integer movieId, String title, String director, String studio, Integer directorId,
+        Integer studioId, Integer releaseYear, String poster, String placeholder) {
+
+}
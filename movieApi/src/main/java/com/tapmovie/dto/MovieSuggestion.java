@@ -0,0 +1,12 @@
+package com.tapmovie.dto;
+
+/**
+ * Represents a typeahead suggestion returned by the suggest endpoint.
+ *
+ * @param text   the suggested title or name, as stored
+ * @param type   what the text is: TITLE, DIRECTOR or CAST
+ * @param movies the number of movies the text appears in
+ */
+public record MovieSuggestion(String text, String type, int movies) {
+
+}
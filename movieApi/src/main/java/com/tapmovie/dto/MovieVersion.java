@@ -0,0 +1,12 @@
+package com.tapmovie.dto;
+
+/**
+ * Represents the catalog version at which a movie was last written.
+ * Used by delta sync to page through changed movies without loading them.
+ *
+ * @param movieId       the ID of the movie
+ * @param changeVersion the catalog version of its last write
+ */
+public record MovieVersion(Integer movieId, Long changeVersion) {
+
+}
@@ -0,0 +1,13 @@
+package com.tapmovie.dto;
+
+/**
+ * Represents a reference from a movie to its poster file.
+ * Used by background jobs that only need the poster column, without loading
+ * full Movie entities.
+ *
+ * @param movieId the ID of the referencing movie
+ * @param poster  the referenced poster file name
+ */
+public record PosterReference(Integer movieId, String poster) {
+
+}
@@ -0,0 +1,11 @@
+package com.tapmovie.dto;
+
+/**
+ * One entry of the trending movies ranking.
+ *
+ * @param movie the movie
+ * @param views the estimated number of views within the requested window
+ */
+public record TrendingMovie(MovieDto movie, long views) {
+
+}
@@ -0,0 +1,50 @@
+package com.tapmovie.dto;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import com.tapmovie.exception.InvalidTrendingWindowException;
+
+/**
+ * The sliding windows trending movies are ranked over. Each window is split
+ * into buckets; the oldest bucket is dropped as a new one starts, so the window
+ * slides in steps of one bucket.
+ */
+public enum TrendingWindow {
+
+    HOUR(12, Duration.ofMinutes(5)),
+    DAY(24, Duration.ofHours(1));
+
+    private final int bucketCount;
+    private final Duration bucketDuration;
+
+    TrendingWindow(int bucketCount, Duration bucketDuration) {
+        this.bucketCount = bucketCount;
+        this.bucketDuration = bucketDuration;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    public Duration getBucketDuration() {
+        return bucketDuration;
+    }
+
+    /**
+     * Parses a window name as given in a request parameter.
+     *
+     * @param name the window name, case-insensitive (e.g. "hour")
+     * @return the window
+     * @throws InvalidTrendingWindowException if no window has that name
+     */
+    public static TrendingWindow from(String name) {
+        for (TrendingWindow window : values()) {
+            if (window.name().equals(name.strip().toUpperCase(Locale.ROOT))) {
+                return window;
+            }
+        }
+        throw new InvalidTrendingWindowException(
+                "Invalid trending window: " + name + ". Allowed windows are: hour, day");
+    }
+}
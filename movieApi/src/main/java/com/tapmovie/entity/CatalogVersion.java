@@ -0,0 +1,50 @@
+package com.tapmovie.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * The CatalogVersion class is a JPA entity holding the single catalog version
+ * counter. Every movie write takes the row lock and increments it, so versions
+ * become visible in the order they were assigned.
+ */
+@Entity
+public class CatalogVersion {
+
+    // ID of the only row
+    public static final Integer ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    // No-argument constructor
+    public CatalogVersion() {
+    }
+
+    // All-argument constructor
+    public CatalogVersion(Integer id, Long version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -2,6 +2,11 @@ package com.tapmovie.entity;
 
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
@@ -10,13 +15,37 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 
 /**
  * The Movie class is a JPA entity representing a movie in the application. 
  * It is mapped to a database table and contains fields for movie details.
+ * Movies and their cast are held in the second-level cache.
+ *
+ * Director, studio and cast are being migrated from name columns to references
+ * into the person and studio tables. Until every movie has been backfilled both
+ * representations are written; movies without a director reference are read
+ * from the name columns.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = {
+        @Index(name = "idx_movie_poster", columnList = "poster"),
+        @Index(name = "idx_movie_director_year", columnList = "director, release_year"),
+        @Index(name = "idx_movie_studio_year", columnList = "studio, release_year"),
+        @Index(name = "idx_movie_year", columnList = "release_year"),
+        @Index(name = "idx_movie_change_version", columnList = "change_version, movie_id"),
+        @Index(name = "idx_movie_director_id_year", columnList = "director_id, release_year"),
+        @Index(name = "idx_movie_studio_id_year", columnList = "studio_id, release_year"),
+        @Index(name = "idx_movie_popularity", columnList = "popularity, movie_id")
+})
 public class Movie {
 
     @Id
@@ -36,7 +65,10 @@ public class Movie {
     private String studio;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "movie_cast")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @CollectionTable(name = "movie_cast", indexes = {
+            @Index(name = "idx_movie_cast_member", columnList = "movie_cast, movie_movie_id")
+    })
     private Set<String> movieCast;
 
     @Column(nullable = false)
@@ -46,6 +78,41 @@ public class Movie {
     @NotBlank(message = "Please provide movie's poster")
     private String poster;
 
+    // Tiny inline preview of the poster, rendered by clients while the poster loads
+    @Column(length = 2048)
+    private String placeholder;
+
+    // Catalog version of the last write to this movie, used for delta sync
+    private Long changeVersion;
+
+    // Number of views, only ever incremented by the batched flush of the view counters
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long popularity;
+
+    // Normalized references replacing the director, studio and movieCast names
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "director_id")
+    private Person directorRef;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "studio_id")
+    private Studio studioRef;
+
+    @ManyToMany
+    @JoinTable(name = "movie_person_cast",
+            joinColumns = @JoinColumn(name = "movie_id"),
+            inverseJoinColumns = @JoinColumn(name = "person_id"),
+            indexes = @Index(name = "idx_movie_person_cast_person", columnList = "person_id, movie_id"))
+    private Set<Person> castRefs;
+
+    // Read-only copies of the foreign keys, so queries can select and filter on them without a join
+    @Column(name = "director_id", insertable = false, updatable = false)
+    private Integer directorId;
+
+    @Column(name = "studio_id", insertable = false, updatable = false)
+    private Integer studioId;
+
     // No-argument constructor
     public Movie() {
     }
@@ -118,4 +185,56 @@ public class Movie {
     public void setPoster(String poster) {
         this.poster = poster;
     }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    public void setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
+    public Long getPopularity() {
+        return popularity;
+    }
+
+    public Person getDirectorRef() {
+        return directorRef;
+    }
+
+    public void setDirectorRef(Person directorRef) {
+        this.directorRef = directorRef;
+    }
+
+    public Studio getStudioRef() {
+        return studioRef;
+    }
+
+    public void setStudioRef(Studio studioRef) {
+        this.studioRef = studioRef;
+    }
+
+    public Set<Person> getCastRefs() {
+        return castRefs;
+    }
+
+    public void setCastRefs(Set<Person> castRefs) {
+        this.castRefs = castRefs;
+    }
+
+    public Integer getDirectorId() {
+        return directorId;
+    }
+
+    public Integer getStudioId() {
+        return studioId;
+    }
 }
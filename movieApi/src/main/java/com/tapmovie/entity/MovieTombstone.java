@@ -0,0 +1,66 @@
+package com.tapmovie.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * The MovieTombstone class is a JPA entity recording a deleted movie, so clients
+ * syncing changes since a catalog version also learn about deletes.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_movie_tombstone_change_version", columnList = "change_version, movie_id")
+})
+public class MovieTombstone {
+
+    // ID of the deleted movie; IDs are never reused
+    @Id
+    private Integer movieId;
+
+    @Column(nullable = false)
+    private Long changeVersion;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+    // No-argument constructor
+    public MovieTombstone() {
+    }
+
+    // All-argument constructor
+    public MovieTombstone(Integer movieId, Long changeVersion, Instant deletedAt) {
+        this.movieId = movieId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and Setters
+    public Integer getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Integer movieId) {
+        this.movieId = movieId;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tapmovie.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * The Person class is a JPA entity holding one distinct director or cast member
+ * name. Movies reference people by ID; rows are never updated or deleted, so an
+ * ID always resolves to the same name.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_person_name", columnNames = "name"))
+public class Person {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer personId;
+
+    @Column(nullable = false)
+    private String name;
+
+    // No-argument constructor
+    public Person() {
+    }
+
+    // All-argument constructor
+    public Person(Integer personId, String name) {
+        this.personId = personId;
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Integer getPersonId() {
+        return personId;
+    }
+
+    public void setPersonId(Integer personId) {
+        this.personId = personId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
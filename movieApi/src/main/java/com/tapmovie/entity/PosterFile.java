@@ -0,0 +1,75 @@
+package com.tapmovie.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * The PosterFile class is a JPA entity holding the metadata of a stored poster
+ * file (originals and their variants). The media type is detected from the file
+ * content at upload time, so serving a poster never has to inspect the file itself.
+ */
+@Entity
+public class PosterFile {
+
+    // Path of the file relative to the poster directory (e.g. "uuid_name.jpg" or "w200/uuid_name.jpg")
+    @Id
+    @Column(length = 255)
+    private String fileName;
+
+    @Column(nullable = false, length = 50)
+    private String mediaType;
+
+    @Column(nullable = false)
+    private Long fileSize;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // No-argument constructor
+    public PosterFile() {
+    }
+
+    // All-argument constructor
+    public PosterFile(String fileName, String mediaType, Long fileSize, Instant createdAt) {
+        this.fileName = fileName;
+        this.mediaType = mediaType;
+        this.fileSize = fileSize;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public void setMediaType(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
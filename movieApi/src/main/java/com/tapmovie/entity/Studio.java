@@ -0,0 +1,53 @@
+package com.tapmovie.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * The Studio class is a JPA entity holding one distinct studio name. Movies
+ * reference studios by ID; rows are never updated or deleted, so an ID always
+ * resolves to the same name.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_studio_name", columnNames = "name"))
+public class Studio {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer studioId;
+
+    @Column(nullable = false)
+    private String name;
+
+    // No-argument constructor
+    public Studio() {
+    }
+
+    // All-argument constructor
+    public Studio(Integer studioId, String name) {
+        this.studioId = studioId;
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Integer getStudioId() {
+        return studioId;
+    }
+
+    public void setStudioId(Integer studioId) {
+        this.studioId = studioId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tapmovie.event;
+
+import com.tapmovie.dto.MovieDto;
+
+/**
+ * Event published whenever a movie is created, updated or deleted.
+ * In-memory read structures listen for it after the write commits to stay
+ * current without re-reading the database.
+ *
+ * @param type    the kind of change
+ * @param movieId the ID of the changed movie
+ * @param movie   the movie state after the change, or null for deletions
+ * @param version the catalog version of the change; versions of one movie increase
+ *                in commit order, even when the events are delivered out of order
+ */
+public record MovieChangedEvent(ChangeType type, Integer movieId, MovieDto movie, long version) {
+
+    /**
+     * The kinds of changes a movie write can make.
+     */
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,13 @@
+package com.tapmovie.event;
+
+/**
+ * Event published when a movie write replaces its poster file.
+ * The previous poster is deleted once the write commits, and the newly uploaded
+ * poster is deleted if the write rolls back, so the stored poster never has a gap.
+ *
+ * @param previousPoster the poster no longer referenced after commit, or null
+ * @param currentPoster  the newly uploaded poster referenced after commit, or null
+ */
+public record PosterReplacedEvent(String previousPoster, String currentPoster) {
+
+}
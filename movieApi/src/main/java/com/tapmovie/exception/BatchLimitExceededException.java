@@ -0,0 +1,19 @@
+package com.tapmovie.exception;
+
+/**
+ * Exception thrown when a batch request contains more items than allowed.
+ * This extends RuntimeException, making it an unchecked exception.
+ */
+public class BatchLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new BatchLimitExceededException with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public BatchLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -55,4 +55,26 @@ public class GlobalExceptionHandler {
     public ProblemDetail handleInvalidSortFieldException(InvalidSortFieldException ex) {
         return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
+
+    /**
+     * Handles BatchLimitExceededException and returns a ProblemDetail response with HTTP 400 status.
+     *
+     * @param ex the exception thrown when a batch request is too large
+     * @return a ProblemDetail containing the error status and message
+     */
+    @ExceptionHandler(BatchLimitExceededException.class)
+    public ProblemDetail handleBatchLimitExceededException(BatchLimitExceededException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * Handles InvalidTrendingWindowException and returns a ProblemDetail response with HTTP 400 status.
+     *
+     * @param ex the exception thrown when trending movies are requested for an unknown window
+     * @return a ProblemDetail containing the error status and message
+     */
+    @ExceptionHandler(InvalidTrendingWindowException.class)
+    public ProblemDetail handleInvalidTrendingWindowException(InvalidTrendingWindowException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
 }
@@ -0,0 +1,19 @@
+package com.tapmovie.exception;
+
+/**
+ * Exception thrown when trending movies are requested for an unknown window.
+ * This extends RuntimeException, making it an unchecked exception.
+ */
+public class InvalidTrendingWindowException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new InvalidTrendingWindowException with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidTrendingWindowException(String message) {
+        super(message);
+    }
+}
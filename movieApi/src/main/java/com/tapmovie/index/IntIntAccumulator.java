@@ -0,0 +1,169 @@
+package com.tapmovie.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open-addressing map from movie IDs to int scores, used to add up the scores of
+ * a single lookup without boxing. Keys must be positive; scores must not be negative.
+ */
+final class IntIntAccumulator {
+
+    static final int EMPTY = 0; // Movie IDs are always positive
+
+    private int[] keys = new int[64];
+    private int[] values = new int[64];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    // Adds a delta to the score of a key
+    void add(int key, int delta) {
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+        } else {
+            insert(slot, key, delta);
+        }
+    }
+
+    // Raises the score of a key to at least the given value
+    void max(int key, int value) {
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] = Math.max(values[slot], value);
+        } else {
+            insert(slot, key, value);
+        }
+    }
+
+    // Returns the score of a key, or 0 if it has none
+    int get(int key) {
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    // Slot access for iteration: slots holding EMPTY are unused
+    int capacity() {
+        return keys.length;
+    }
+
+    int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    int valueAt(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Selects the highest scoring keys, ties broken by ascending key. A score and a
+     * key are packed into one long, so that comparing the longs orders by score,
+     * then by ascending key; a bounded min-heap keeps the best entries seen so far.
+     *
+     * @param limit the maximum number of keys
+     * @return the keys, highest score first
+     */
+    List<Integer> topK(int limit) {
+        int count = Math.min(limit, size);
+        if (count <= 0) {
+            return List.of();
+        }
+
+        long[] heap = new long[count];
+        int heapSize = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == EMPTY) {
+                continue;
+            }
+            long entry = (long) values[slot] << 32 | (Integer.MAX_VALUE - keys[slot]);
+            if (heapSize < count) {
+                heap[heapSize] = entry;
+                siftUp(heap, heapSize++);
+            } else if (entry > heap[0]) {
+                heap[0] = entry;
+                siftDown(heap, heapSize);
+            }
+        }
+
+        Arrays.sort(heap);
+        Integer[] result = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = Integer.MAX_VALUE - (int) heap[count - 1 - i];
+        }
+        return Arrays.asList(result);
+    }
+
+    // Linear probing from the key's home slot; returns the key's slot or the empty slot ending the probe
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, int key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        // Keep the load factor at or below one half
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int target = find(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+            }
+        }
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent] <= heap[index]) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heap[right] < heap[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(heap, smallest, index);
+            index = smallest;
+        }
+    }
+
+    private static void swap(long[] heap, int i, int j) {
+        long tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
@@ -0,0 +1,439 @@
+package com.tapmovie.index;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.util.CompactStringSet;
+
+/**
+ * Optional read-side store holding the full catalog off-heap.
+ *
+ * Every movie is encoded into one packed record in a direct ByteBuffer arena:
+ * scalar fields as ints, director, studio and cast as ids into string
+ * dictionaries (each distinct name is held once), and title, poster and
+ * placeholder as UTF-8 bytes. Records are located through an int-keyed
+ * open-addressing map and listed through a sorted int array of movie IDs, so
+ * the catalog costs a handful of objects regardless of its size. Updates append
+ * a new record; the arena is compacted once half of it is garbage.
+ *
+ * Movie DTOs are decoded on every read; their cast is an immutable compact set.
+ */
+@Component
+public class MovieCatalogStore implements MovieIndex {
+
+    private static final int INITIAL_ARENA_BYTES = 1 << 20;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Marks a null string, a missing dictionary entry or a missing release year
+    private static final int NULL = -1;
+    private static final int NULL_YEAR = Integer.MIN_VALUE;
+
+    // Record header: length, movie ID, release year, director, studio, cast count
+    private static final int HEADER_BYTES = Integer.BYTES * 6;
+
+    private final boolean enabled;
+    private final String baseUrl;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ByteBuffer arena;
+    private int arenaEnd;
+    private int garbageBytes;
+
+    // Movie ID to record offset
+    private final IntIntMap offsets = new IntIntMap(INITIAL_CAPACITY);
+
+    // Movie IDs in ascending order, for offset listing
+    private int[] sortedIds = new int[INITIAL_CAPACITY];
+    private int size;
+
+    // Names shared by all records; directors and cast members share one dictionary
+    private final Dictionary people = new Dictionary();
+    private final Dictionary studios = new Dictionary();
+
+    private volatile boolean loaded;
+
+    public MovieCatalogStore(@Value("${project.catalog-store.enabled:false}") boolean enabled,
+                             @Value("${base.url}") String baseUrl) {
+        this.enabled = enabled;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public void index(MovieDto movie) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int movieId = movie.getMovieId();
+            int previous = offsets.get(movieId);
+            if (previous != NULL) {
+                garbageBytes += arena.getInt(previous);
+            } else {
+                insertSorted(movieId);
+            }
+            offsets.put(movieId, append(movie));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer movieId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int offset = offsets.remove(movieId);
+            if (offset != NULL) {
+                garbageBytes += arena.getInt(offset);
+                removeSorted(movieId);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void loaded() {
+        loaded = enabled;
+    }
+
+    /**
+     * Checks whether the store is enabled and holds the full catalog.
+     *
+     * @return true if reads can be served from the store
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Returns the number of stored movies.
+     *
+     * @return the number of movies
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one movie.
+     *
+     * @param movieId the movie ID
+     * @return the movie, or null if it does not exist
+     */
+    public MovieDto get(int movieId) {
+        lock.readLock().lock();
+        try {
+            int offset = offsets.get(movieId);
+            return offset != NULL ? decode(offset) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of movies ordered by ID.
+     *
+     * @param offset    the number of movies to skip
+     * @param limit     the maximum number of movies
+     * @param ascending whether to order by ascending ID
+     * @return the movies of the page
+     */
+    public List<MovieDto> getPage(long offset, int limit, boolean ascending) {
+        lock.readLock().lock();
+        try {
+            if (offset >= size) {
+                return List.of();
+            }
+            int from = ascending ? (int) offset : size - 1 - (int) offset;
+            return decodeRange(from, limit, ascending);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Decodes consecutive movies of the sorted ID array; the caller must hold the read lock
+    private List<MovieDto> decodeRange(int from, int limit, boolean ascending) {
+        List<MovieDto> movies = new ArrayList<>(Math.min(limit, size));
+        int step = ascending ? 1 : -1;
+        for (int i = from; i >= 0 && i < size && movies.size() < limit; i += step) {
+            movies.add(decode(offsets.get(sortedIds[i])));
+        }
+        return movies;
+    }
+
+    // Appends the encoded movie to the arena, returning its offset; the caller must hold the write lock
+    private int append(MovieDto movie) {
+        byte[] title = encode(movie.getTitle());
+        byte[] poster = encode(movie.getPoster());
+        byte[] placeholder = encode(movie.getPlaceholder());
+        Set<String> cast = movie.getMovieCast() != null ? movie.getMovieCast() : Set.of();
+
+        int length = HEADER_BYTES + Integer.BYTES * cast.size()
+                + stringBytes(title) + stringBytes(poster) + stringBytes(placeholder);
+        ensureCapacity(length);
+
+        int offset = arenaEnd;
+        int position = offset;
+        arena.putInt(position, length);
+        arena.putInt(position += Integer.BYTES, movie.getMovieId());
+        arena.putInt(position += Integer.BYTES, movie.getReleaseYear() != null ? movie.getReleaseYear() : NULL_YEAR);
+        arena.putInt(position += Integer.BYTES, people.idOf(movie.getDirector()));
+        arena.putInt(position += Integer.BYTES, studios.idOf(movie.getStudio()));
+        arena.putInt(position += Integer.BYTES, cast.size());
+        position += Integer.BYTES;
+        for (String member : cast) {
+            arena.putInt(position, people.idOf(member));
+            position += Integer.BYTES;
+        }
+        position = putString(position, title);
+        position = putString(position, poster);
+        putString(position, placeholder);
+
+        arenaEnd += length;
+        return offset;
+    }
+
+    // Decodes the record at the given offset; the caller must hold a lock
+    private MovieDto decode(int offset) {
+        int position = offset + Integer.BYTES;
+        int movieId = arena.getInt(position);
+        int releaseYear = arena.getInt(position += Integer.BYTES);
+        String director = people.nameOf(arena.getInt(position += Integer.BYTES));
+        String studio = studios.nameOf(arena.getInt(position += Integer.BYTES));
+        int castCount = arena.getInt(position += Integer.BYTES);
+        position += Integer.BYTES;
+
+        // Dictionary names are already shared instances; the cast was a set, so its names are distinct
+        String[] cast = new String[castCount];
+        for (int i = 0; i < castCount; i++) {
+            cast[i] = people.nameOf(arena.getInt(position));
+            position += Integer.BYTES;
+        }
+
+        String[] strings = new String[3];
+        for (int i = 0; i < strings.length; i++) {
+            int length = arena.getInt(position);
+            position += Integer.BYTES;
+            if (length != NULL) {
+                byte[] bytes = new byte[length];
+                arena.get(position, bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+
+        String poster = strings[1];
+        return new MovieDto(movieId, strings[0], director, studio, CompactStringSet.wrap(cast),
+                releaseYear != NULL_YEAR ? releaseYear : null, poster, baseUrl + "/file/" + poster, strings[2]);
+    }
+
+    private int putString(int position, byte[] bytes) {
+        if (bytes == null) {
+            arena.putInt(position, NULL);
+            return position + Integer.BYTES;
+        }
+        arena.putInt(position, bytes.length);
+        arena.put(position + Integer.BYTES, bytes);
+        return position + Integer.BYTES + bytes.length;
+    }
+
+    private static byte[] encode(String text) {
+        return text != null ? text.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringBytes(byte[] bytes) {
+        return Integer.BYTES + (bytes != null ? bytes.length : 0);
+    }
+
+    // Grows the arena so that the given number of bytes can be appended
+    private void ensureCapacity(int bytes) {
+        if (arena == null) {
+            arena = ByteBuffer.allocateDirect(Math.max(INITIAL_ARENA_BYTES, bytes));
+        }
+        long required = (long) arenaEnd + bytes;
+        if (required <= arena.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Catalog store exceeds the maximum arena size");
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, (long) arena.capacity() * 2));
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(0, arena, 0, arenaEnd);
+        arena = grown;
+    }
+
+    // Rewrites the live records into a fresh arena once half of the current one is garbage
+    private void compactIfNeeded() {
+        if (garbageBytes < INITIAL_ARENA_BYTES || garbageBytes < arenaEnd / 2) {
+            return;
+        }
+        ByteBuffer compacted = ByteBuffer.allocateDirect(Math.max(INITIAL_ARENA_BYTES, (arenaEnd - garbageBytes) * 2));
+        int end = 0;
+        for (int i = 0; i < size; i++) {
+            int offset = offsets.get(sortedIds[i]);
+            int length = arena.getInt(offset);
+            compacted.put(end, arena, offset, length);
+            offsets.put(sortedIds[i], end);
+            end += length;
+        }
+        arena = compacted;
+        arenaEnd = end;
+        garbageBytes = 0;
+    }
+
+    private void insertSorted(int movieId) {
+        int position = -Arrays.binarySearch(sortedIds, 0, size, movieId) - 1;
+        if (size == sortedIds.length) {
+            sortedIds = Arrays.copyOf(sortedIds, size * 2);
+        }
+        System.arraycopy(sortedIds, position, sortedIds, position + 1, size - position);
+        sortedIds[position] = movieId;
+        size++;
+    }
+
+    private void removeSorted(int movieId) {
+        int position = Arrays.binarySearch(sortedIds, 0, size, movieId);
+        if (position >= 0) {
+            System.arraycopy(sortedIds, position + 1, sortedIds, position, size - position - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Append-only dictionary assigning a dense int id to every distinct name.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        int idOf(String name) {
+            if (name == null) {
+                return NULL;
+            }
+            return ids.computeIfAbsent(name, key -> {
+                names.add(key);
+                return names.size() - 1;
+            });
+        }
+
+        String nameOf(int id) {
+            return id != NULL ? names.get(id) : null;
+        }
+    }
+
+    /**
+     * Open-addressing hash map from positive int keys to int values, using linear
+     * probing with backward-shift deletion so no tombstones accumulate.
+     */
+    private static final class IntIntMap {
+        private static final int EMPTY = 0; // Movie IDs are always positive
+
+        private int[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+        IntIntMap(int capacity) {
+            int tableSize = Integer.highestOneBit(Math.max(4, capacity) * 2 - 1);
+            keys = new int[tableSize];
+            values = new int[tableSize];
+            mask = tableSize - 1;
+        }
+
+        int get(int key) {
+            for (int i = slot(key); ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == EMPTY) {
+                    return NULL;
+                }
+            }
+        }
+
+        void put(int key, int value) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+            int i = slot(key);
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        int remove(int key) {
+            int i = slot(key);
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return NULL;
+                }
+                i = (i + 1) & mask;
+            }
+            int value = values[i];
+
+            // Shift following entries back into the gap unless they are already at or after their home slot
+            int gap = i;
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                boolean movable = gap <= j ? home <= gap || home > j : home <= gap && home > j;
+                if (movable) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return value;
+        }
+
+        private void resize(int tableSize) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[tableSize];
+            values = new int[tableSize];
+            mask = tableSize - 1;
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private int slot(int key) {
+            int hash = key * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
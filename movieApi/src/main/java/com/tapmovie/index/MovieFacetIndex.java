@@ -0,0 +1,98 @@
+package com.tapmovie.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.tapmovie.dto.MovieDto;
+
+/**
+ * In-memory facet counters: number of movies per studio, director and release year.
+ * Counters are adjusted on every movie write, so unfiltered facet requests never
+ * query the database once the initial load has completed.
+ */
+@Component
+public class MovieFacetIndex implements MovieIndex {
+
+    private final Map<String, Long> studios = new ConcurrentHashMap<>();
+    private final Map<String, Long> directors = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> releaseYears = new ConcurrentHashMap<>();
+
+    // Facet values counted per movie, needed to decrement the old values on update
+    private final Map<Integer, Facets> movieFacets = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    @Override
+    public synchronized void index(MovieDto movie) {
+        removeLocked(movie.getMovieId());
+        Facets facets = new Facets(movie.getStudio(), movie.getDirector(), movie.getReleaseYear());
+        adjust(facets, 1);
+        movieFacets.put(movie.getMovieId(), facets);
+    }
+
+    @Override
+    public synchronized void remove(Integer movieId) {
+        removeLocked(movieId);
+    }
+
+    @Override
+    public void loaded() {
+        loaded = true;
+    }
+
+    /**
+     * Checks whether the counters cover the full catalog.
+     *
+     * @return true once the initial load has completed
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public Map<String, Long> getStudioCounts() {
+        return Map.copyOf(studios);
+    }
+
+    public Map<String, Long> getDirectorCounts() {
+        return Map.copyOf(directors);
+    }
+
+    public Map<Integer, Long> getReleaseYearCounts() {
+        return Map.copyOf(releaseYears);
+    }
+
+    // Decrements the counters of a movie's previous state; the caller must hold the lock
+    private void removeLocked(Integer movieId) {
+        Facets previous = movieFacets.remove(movieId);
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+    }
+
+    // Applies a delta to every counter of a movie, dropping counters that reach zero
+    private void adjust(Facets facets, long delta) {
+        if (facets.studio() != null) {
+            studios.compute(facets.studio(), (key, count) -> nonZero(count, delta));
+        }
+        if (facets.director() != null) {
+            directors.compute(facets.director(), (key, count) -> nonZero(count, delta));
+        }
+        if (facets.releaseYear() != null) {
+            releaseYears.compute(facets.releaseYear(), (key, count) -> nonZero(count, delta));
+        }
+    }
+
+    private static Long nonZero(Long count, long delta) {
+        long updated = (count == null ? 0 : count) + delta;
+        return updated > 0 ? updated : null;
+    }
+
+    /**
+     * The facet values of one movie.
+     */
+    private record Facets(String studio, String director, Integer releaseYear) {
+    }
+}
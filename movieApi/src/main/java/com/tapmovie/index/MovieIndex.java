@@ -0,0 +1,32 @@
+package com.tapmovie.index;
+
+import com.tapmovie.dto.MovieDto;
+
+/**
+ * Interface for in-memory read structures derived from the movie catalog.
+ * Implementations are built from the full catalog at startup and then kept
+ * current incrementally by the {@link MovieIndexUpdater}.
+ */
+public interface MovieIndex {
+
+    /**
+     * Adds a movie to the index, replacing any previously indexed state of the same movie.
+     *
+     * @param movie the current state of the movie
+     */
+    void index(MovieDto movie);
+
+    /**
+     * Removes a movie from the index.
+     *
+     * @param movieId the ID of the removed movie
+     */
+    void remove(Integer movieId);
+
+    /**
+     * Signals that the initial load of the full catalog has completed.
+     * Until then the index may be incomplete.
+     */
+    default void loaded() {
+    }
+}
@@ -0,0 +1,130 @@
+package com.tapmovie.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.event.MovieChangedEvent;
+import com.tapmovie.service.MovieService;
+
+/**
+ * Keeps all {@link MovieIndex} implementations in sync with the catalog.
+ * Indexes are loaded with a single paged scan of the catalog once the application
+ * is ready, and afterwards updated from {@link MovieChangedEvent}s once the
+ * originating write has committed.
+ *
+ * Changes committed while the initial scan runs are buffered and replayed once
+ * it completes. Applying them directly could let a page read before the change
+ * overwrite it, or bring back a deleted movie, with nothing to correct the index
+ * until that movie is written again.
+ *
+ * Listeners of concurrent commits may deliver the changes of one movie out of
+ * order, so changes are applied one at a time and a change older than the last
+ * one applied to the same movie is dropped.
+ */
+@Component
+public class MovieIndexUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieIndexUpdater.class);
+
+    // Number of movies loaded per page while building the indexes
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final List<MovieIndex> indexes;
+    private final MovieService movieService;
+
+    // Changes committed during the initial load; null once the load has completed
+    private List<MovieChangedEvent> pending = new ArrayList<>();
+
+    // Catalog version of the last change applied per movie, deletions included; guarded by this
+    private final Map<Integer, Long> appliedVersions = new HashMap<>();
+
+    public MovieIndexUpdater(List<MovieIndex> indexes, MovieService movieService) {
+        this.indexes = indexes;
+        this.movieService = movieService;
+    }
+
+    /**
+     * Builds all indexes from the catalog when the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        long start = System.nanoTime();
+        int loaded = 0;
+        Integer lastMovieId = 0;
+
+        // Keyset pagination keeps every page an index range scan, however large the catalog
+        List<MovieDto> page;
+        do {
+            page = movieService.getMoviesAfter(lastMovieId, LOAD_PAGE_SIZE);
+            for (MovieDto movie : page) {
+                for (MovieIndex index : indexes) {
+                    index.index(movie);
+                }
+            }
+            if (!page.isEmpty()) {
+                lastMovieId = page.get(page.size() - 1).getMovieId();
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        // Replay the changes the scan may have missed or read older state for; under the lock,
+        // so changes committing meanwhile wait and are applied after the replay. Any order
+        // works, since a change older than one already applied is dropped
+        synchronized (this) {
+            for (MovieChangedEvent event : pending) {
+                apply(event);
+            }
+            pending = null;
+        }
+
+        for (MovieIndex index : indexes) {
+            index.loaded();
+        }
+
+        log.info("Loaded {} movies into {} indexes in {} ms", loaded, indexes.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed movie change to all indexes.
+     *
+     * @param event the movie change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onMovieChanged(MovieChangedEvent event) {
+        if (pending != null) {
+            pending.add(event);
+        } else {
+            apply(event);
+        }
+    }
+
+    // Removes a deleted movie from every index, or indexes the movie's new state, unless a
+    // newer change of the movie was already applied; the caller must hold the lock
+    private void apply(MovieChangedEvent event) {
+        Long applied = appliedVersions.get(event.movieId());
+        if (applied != null && applied >= event.version()) {
+            return;
+        }
+        appliedVersions.put(event.movieId(), event.version());
+
+        for (MovieIndex index : indexes) {
+            if (event.type() == MovieChangedEvent.ChangeType.DELETED) {
+                index.remove(event.movieId());
+            } else {
+                index.index(event.movie());
+            }
+        }
+    }
+}
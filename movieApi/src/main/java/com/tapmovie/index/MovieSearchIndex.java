@@ -0,0 +1,261 @@
+package com.tapmovie.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.tapmovie.dto.MovieDto;
+
+/**
+ * In-memory inverted index over movie titles, directors, studios and cast.
+ *
+ * Text is tokenized on non-alphanumeric characters, case-folded and stripped of
+ * diacritics. Every term maps to a compact posting list of movie IDs with a
+ * per-movie weight reflecting the fields the term occurs in. All query tokens
+ * must match (the last one typically being a partial word), and exact term
+ * matches rank above prefix matches.
+ */
+@Component
+public class MovieSearchIndex implements MovieIndex {
+
+    // Field weights: a match in the title counts most, a match in the studio least
+    private static final int TITLE_WEIGHT = 4;
+    private static final int DIRECTOR_WEIGHT = 2;
+    private static final int CAST_WEIGHT = 2;
+    private static final int STUDIO_WEIGHT = 1;
+
+    // Maximum number of dictionary terms a single prefix token expands to, and the number
+    // of candidate terms ranked to pick them; terms beyond the scan are not considered
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_PREFIX_SCAN = 4096;
+
+    // Sorted term dictionary, so prefix matches are a contiguous range
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+
+    // Terms indexed per movie, needed to remove a movie's old state on update
+    private final Map<Integer, Map<String, Integer>> movieTerms = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(MovieDto movie) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, movie.getTitle(), TITLE_WEIGHT);
+        addTerms(weights, movie.getDirector(), DIRECTOR_WEIGHT);
+        addTerms(weights, movie.getStudio(), STUDIO_WEIGHT);
+        if (movie.getMovieCast() != null) {
+            for (String member : movie.getMovieCast()) {
+                addTerms(weights, member, CAST_WEIGHT);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(movie.getMovieId());
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), term -> new Postings())
+                        .put(movie.getMovieId(), entry.getValue());
+            }
+            movieTerms.put(movie.getMovieId(), weights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer movieId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(movieId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index and returns the IDs of the best matching movies.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of results
+     * @return matching movie IDs, best match first
+     */
+    public List<Integer> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Score every token separately; a movie must match all of them
+            List<IntIntAccumulator> tokenScores = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                IntIntAccumulator scores = scoreToken(token);
+                if (scores.size() == 0) {
+                    return List.of();
+                }
+                tokenScores.add(scores);
+            }
+
+            // Intersect starting from the most selective token
+            tokenScores.sort(Comparator.comparingInt(IntIntAccumulator::size));
+            IntIntAccumulator first = tokenScores.get(0);
+            if (tokenScores.size() == 1) {
+                return first.topK(limit);
+            }
+            IntIntAccumulator totals = new IntIntAccumulator();
+            for (int slot = 0; slot < first.capacity(); slot++) {
+                int movieId = first.keyAt(slot);
+                if (movieId == IntIntAccumulator.EMPTY) {
+                    continue;
+                }
+                int total = first.valueAt(slot);
+                for (int i = 1; i < tokenScores.size() && total > 0; i++) {
+                    int score = tokenScores.get(i).get(movieId);
+                    total = score > 0 ? total + score : 0;
+                }
+                if (total > 0) {
+                    totals.add(movieId, total);
+                }
+            }
+            return totals.topK(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Collects the movies matching one token, exactly or as a prefix of one of its expansions
+    private IntIntAccumulator scoreToken(String token) {
+        IntIntAccumulator scores = new IntIntAccumulator();
+
+        // Exact matches count double compared to prefix matches
+        Postings exact = terms.get(token);
+        if (exact != null) {
+            for (int i = 0; i < exact.size; i++) {
+                scores.max(exact.movieIds[i], exact.weights[i] * 2);
+            }
+        }
+        for (Postings postings : expand(token)) {
+            for (int i = 0; i < postings.size; i++) {
+                scores.max(postings.movieIds[i], postings.weights[i]);
+            }
+        }
+        return scores;
+    }
+
+    // Picks the terms a token is a proper prefix of: the MAX_PREFIX_EXPANSIONS terms occurring in
+    // the most movies among the first MAX_PREFIX_SCAN terms of the range, so a short prefix expands
+    // to its common completions rather than to the alphabetically first ones
+    private List<Postings> expand(String token) {
+        PriorityQueue<Postings> heap = new PriorityQueue<>(MAX_PREFIX_EXPANSIONS + 1,
+                Comparator.comparingInt((Postings postings) -> postings.size));
+        int scanned = 0;
+        for (Postings postings : terms.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            if (scanned++ == MAX_PREFIX_SCAN) {
+                break;
+            }
+            heap.offer(postings);
+            if (heap.size() > MAX_PREFIX_EXPANSIONS) {
+                heap.poll();
+            }
+        }
+        return new ArrayList<>(heap);
+    }
+
+    // Removes all postings of a movie; the caller must hold the write lock
+    private void removeLocked(Integer movieId) {
+        Map<String, Integer> previous = movieTerms.remove(movieId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.keySet()) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(movieId) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    // Adds the tokens of a field to the weights of a movie
+    private void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, (a, b) -> Math.min(a + b, Byte.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Splits text into case-folded tokens without diacritics.
+     *
+     * @param text the text to tokenize, may be null
+     * @return the tokens in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Posting list of one term: movie IDs in ascending order with parallel weights.
+     * Kept as primitive arrays to avoid boxing millions of entries.
+     */
+    private static final class Postings {
+        private int[] movieIds = new int[2];
+        private byte[] weights = new byte[2];
+        private int size;
+
+        // Inserts or replaces the weight of a movie, keeping IDs sorted
+        void put(int movieId, int weight) {
+            int position = Arrays.binarySearch(movieIds, 0, size, movieId);
+            if (position >= 0) {
+                weights[position] = (byte) weight;
+                return;
+            }
+            position = -position - 1;
+            if (size == movieIds.length) {
+                movieIds = Arrays.copyOf(movieIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(movieIds, position, movieIds, position + 1, size - position);
+            System.arraycopy(weights, position, weights, position + 1, size - position);
+            movieIds[position] = movieId;
+            weights[position] = (byte) weight;
+            size++;
+        }
+
+        // Removes a movie, returning whether it was present
+        boolean remove(int movieId) {
+            int position = Arrays.binarySearch(movieIds, 0, size, movieId);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(movieIds, position + 1, movieIds, position, size - position - 1);
+            System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
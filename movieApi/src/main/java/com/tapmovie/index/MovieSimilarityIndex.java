@@ -0,0 +1,210 @@
+package com.tapmovie.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tapmovie.dto.MovieDto;
+
+/**
+ * In-memory "similar movies" index over directors, studios and cast.
+ *
+ * Every distinct director, studio and cast member is a feature with an int ID,
+ * mapped to a posting list of the movies having it. A movie's similar movies are
+ * found by walking the posting lists of its own features and adding up the weights
+ * of the features each other movie shares with it. Posting lists, per-movie
+ * features and the score accumulator are all primitive int arrays, so a lookup
+ * allocates little and never boxes a movie ID.
+ */
+@Component
+public class MovieSimilarityIndex implements MovieIndex {
+
+    // Feature weights: a shared director counts most, a shared studio least
+    private static final int DIRECTOR_WEIGHT = 3;
+    private static final int CAST_WEIGHT = 2;
+    private static final int STUDIO_WEIGHT = 1;
+
+    // Posting lists longer than this are skipped when scoring; see the constructor
+    private final int maxPostings;
+
+    // Feature key ("d:", "s:" or "c:" followed by the case-folded name) to feature ID
+    private final Map<String, Integer> featureIds = new HashMap<>();
+
+    // Per feature ID: its key, weight and posting list; IDs of emptied features are reused
+    private String[] featureKeys = new String[1024];
+    private int[] featureWeights = new int[1024];
+    private IntList[] postings = new IntList[1024];
+    private final IntList freeFeatureIds = new IntList();
+    private int nextFeatureId;
+
+    // Feature IDs per movie, needed to score a movie and to remove its old state on update
+    private final Map<Integer, int[]> movieFeatures = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param maxPostings the maximum number of movies a feature may have to take part
+     *                    in scoring; features shared by a large part of the catalog
+     *                    (typically big studios) say little about similarity and would
+     *                    make every lookup scan them
+     */
+    public MovieSimilarityIndex(@Value("${project.similar.max-postings:5000}") int maxPostings) {
+        this.maxPostings = maxPostings;
+    }
+
+    @Override
+    public void index(MovieDto movie) {
+        Map<String, Integer> weights = new HashMap<>();
+        addFeature(weights, "d:", movie.getDirector(), DIRECTOR_WEIGHT);
+        addFeature(weights, "s:", movie.getStudio(), STUDIO_WEIGHT);
+        if (movie.getMovieCast() != null) {
+            for (String member : movie.getMovieCast()) {
+                addFeature(weights, "c:", member, CAST_WEIGHT);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(movie.getMovieId());
+            int[] features = new int[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                int featureId = featureId(entry.getKey(), entry.getValue());
+                postings[featureId].add(movie.getMovieId());
+                features[i++] = featureId;
+            }
+            movieFeatures.put(movie.getMovieId(), features);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer movieId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(movieId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the movies sharing the most directors, studios and cast
+     * members with a movie.
+     *
+     * @param movieId the ID of the movie
+     * @param limit   the maximum number of results
+     * @return similar movie IDs, most similar first and ties by ascending ID; empty if
+     *         the movie is not indexed or shares nothing with any other movie
+     */
+    public List<Integer> similar(Integer movieId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] features = movieFeatures.get(movieId);
+            if (features == null) {
+                return List.of();
+            }
+
+            // Add up the weights of the shared features per movie
+            int self = movieId;
+            IntIntAccumulator scores = new IntIntAccumulator();
+            for (int featureId : features) {
+                IntList movieIds = postings[featureId];
+                if (movieIds.size > maxPostings) {
+                    continue;
+                }
+                int weight = featureWeights[featureId];
+                for (int i = 0; i < movieIds.size; i++) {
+                    if (movieIds.values[i] != self) {
+                        scores.add(movieIds.values[i], weight);
+                    }
+                }
+            }
+            return scores.topK(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds a feature of a movie; a name occurring twice in the same role counts once
+    private static void addFeature(Map<String, Integer> weights, String kind, String name, int weight) {
+        if (name != null && !name.isBlank()) {
+            weights.put(kind + name.strip().toLowerCase(Locale.ROOT), weight);
+        }
+    }
+
+    // Looks up or allocates the ID of a feature; the caller must hold the write lock
+    private int featureId(String key, int weight) {
+        Integer existing = featureIds.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int featureId = freeFeatureIds.size > 0 ? freeFeatureIds.values[--freeFeatureIds.size] : nextFeatureId++;
+        if (featureId == postings.length) {
+            int capacity = postings.length * 2;
+            featureKeys = Arrays.copyOf(featureKeys, capacity);
+            featureWeights = Arrays.copyOf(featureWeights, capacity);
+            postings = Arrays.copyOf(postings, capacity);
+        }
+        featureKeys[featureId] = key;
+        featureWeights[featureId] = weight;
+        postings[featureId] = new IntList();
+        featureIds.put(key, featureId);
+        return featureId;
+    }
+
+    // Removes a movie from the posting lists of its features; the caller must hold the write lock
+    private void removeLocked(Integer movieId) {
+        int[] previous = movieFeatures.remove(movieId);
+        if (previous == null) {
+            return;
+        }
+        for (int featureId : previous) {
+            IntList movieIds = postings[featureId];
+            if (movieIds.remove(movieId) && movieIds.size == 0) {
+                featureIds.remove(featureKeys[featureId]);
+                featureKeys[featureId] = null;
+                postings[featureId] = null;
+                freeFeatureIds.add(featureId);
+            }
+        }
+    }
+
+    /**
+     * Growable list of ints; order is not preserved on removal.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        // Moves the last value into the removed slot
+        boolean remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.tapmovie.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.dto.MovieSuggestion;
+
+/**
+ * In-memory typeahead index over movie titles, directors and cast names.
+ *
+ * Every distinct name is held once (interned per type) and inserted into a
+ * character trie under its full normalized form and under each of its word
+ * suffixes, so "nol" suggests "Christopher Nolan". Each trie node stores the
+ * precomputed top suggestions of its subtree, ranked by the number of movies a
+ * name appears in, so a lookup costs one walk down the prefix and never scans.
+ * Only the trie paths of names whose movie count changes are recomputed on writes.
+ */
+@Component
+public class MovieSuggestIndex implements MovieIndex {
+
+    // Number of suggestions precomputed per trie node
+    static final int TOP_K = 10;
+
+    // Orders suggestions by movie count, then alphabetically
+    private static final Comparator<Entry> RANKING = Comparator.comparingInt((Entry entry) -> -entry.movies)
+            .thenComparing(entry -> entry.text);
+
+    private final Node root = new Node();
+
+    // Canonical entry per type and normalized name
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    // Entries contributed per movie, needed to withdraw a movie's old state on update
+    private final Map<Integer, List<Entry>> movieEntries = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(MovieDto movie) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(movie.getMovieId());
+
+            List<Entry> contributed = new ArrayList<>();
+            addEntry(contributed, Type.TITLE, movie.getTitle());
+            addEntry(contributed, Type.DIRECTOR, movie.getDirector());
+            if (movie.getMovieCast() != null) {
+                for (String member : movie.getMovieCast()) {
+                    addEntry(contributed, Type.CAST, member);
+                }
+            }
+            movieEntries.put(movie.getMovieId(), contributed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer movieId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(movieId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the top suggestions for a prefix.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions, at most {@value #TOP_K}
+     * @return the suggestions, most common first
+     */
+    public List<MovieSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            List<MovieSuggestion> suggestions = new ArrayList<>();
+            for (int i = 0; i < node.top.length && suggestions.size() < limit; i++) {
+                Entry entry = node.top[i];
+                suggestions.add(new MovieSuggestion(entry.text, entry.type.name(), entry.movies));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Counts one more movie for a name, inserting it into the trie on first use
+    private void addEntry(List<Entry> contributed, Type type, String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Entry entry = entries.computeIfAbsent(type + ":" + normalized, key -> new Entry(text.strip(), type, normalized));
+        if (contributed.contains(entry)) {
+            return; // A movie counts once per name
+        }
+        contributed.add(entry);
+        entry.movies++;
+        for (String key : entry.keys()) {
+            updatePath(key, entry, true);
+        }
+    }
+
+    // Withdraws all names contributed by a movie; the caller must hold the write lock
+    private void removeLocked(Integer movieId) {
+        List<Entry> previous = movieEntries.remove(movieId);
+        if (previous == null) {
+            return;
+        }
+        for (Entry entry : previous) {
+            entry.movies--;
+            boolean present = entry.movies > 0;
+            if (!present) {
+                entries.remove(entry.type + ":" + entry.normalized);
+            }
+            for (String key : entry.keys()) {
+                updatePath(key, entry, present);
+            }
+        }
+    }
+
+    // Walks (and creates or prunes) the path of a key, recomputing top suggestions bottom-up
+    private void updatePath(String key, Entry entry, boolean present) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = path[i].child(key.charAt(i));
+            if (child == null) {
+                if (!present) {
+                    return; // Nothing indexed under this key
+                }
+                child = path[i].addChild(key.charAt(i));
+            }
+            path[i + 1] = child;
+        }
+
+        Node leaf = path[key.length()];
+        if (present) {
+            leaf.addTerminal(entry);
+        } else {
+            leaf.removeTerminal(entry);
+        }
+
+        for (int i = key.length(); i >= 0; i--) {
+            Node node = path[i];
+            Entry[] previousTop = node.top;
+            node.recomputeTop();
+            if (i > 0 && node.isEmpty()) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+            // Ancestors only depend on this node's top entries; stop once the change is absorbed
+            if (Arrays.equals(previousTop, node.top) && !Arrays.asList(node.top).contains(entry)) {
+                break;
+            }
+        }
+    }
+
+    // Normalizes text the same way as the search index, keeping word boundaries
+    private static String normalize(String text) {
+        return String.join(" ", MovieSearchIndex.tokenize(text));
+    }
+
+    /**
+     * The kinds of names that are suggested.
+     */
+    private enum Type {
+        TITLE, DIRECTOR, CAST
+    }
+
+    /**
+     * A suggestable name and the number of movies it appears in.
+     */
+    private static final class Entry {
+        private final String text;
+        private final Type type;
+        private final String normalized;
+        private int movies;
+
+        Entry(String text, Type type, String normalized) {
+            this.text = text;
+            this.type = type;
+            this.normalized = normalized;
+        }
+
+        // The full name and every word suffix of it
+        List<String> keys() {
+            List<String> keys = new ArrayList<>();
+            keys.add(normalized);
+            for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                keys.add(normalized.substring(i + 1));
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * A trie node with sorted child labels and the precomputed top entries of its subtree.
+     */
+    private static final class Node {
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private Entry[] terminals = NO_ENTRIES;
+        private Entry[] top = NO_ENTRIES;
+
+        Node child(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node addChild(char label) {
+            int position = -Arrays.binarySearch(labels, label) - 1;
+            Node child = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            newLabels[position] = label;
+            newChildren[position] = child;
+            System.arraycopy(labels, position, newLabels, position + 1, labels.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            if (position < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(labels, position + 1, newLabels, position, labels.length - position - 1);
+            System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        void addTerminal(Entry entry) {
+            for (Entry terminal : terminals) {
+                if (terminal == entry) {
+                    return;
+                }
+            }
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = entry;
+        }
+
+        void removeTerminal(Entry entry) {
+            terminals = Arrays.stream(terminals).filter(terminal -> terminal != entry).toArray(Entry[]::new);
+        }
+
+        boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+
+        // Merges the own terminals with the children's precomputed top entries
+        void recomputeTop() {
+            Set<Entry> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Entry> candidates = new ArrayList<>();
+            for (Entry entry : terminals) {
+                if (unique.add(entry)) {
+                    candidates.add(entry);
+                }
+            }
+            for (Node child : children) {
+                for (Entry entry : child.top) {
+                    if (unique.add(entry)) {
+                        candidates.add(entry);
+                    }
+                }
+            }
+            candidates.sort(RANKING);
+            top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NO_ENTRIES);
+        }
+    }
+}
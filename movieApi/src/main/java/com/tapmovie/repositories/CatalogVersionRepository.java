@@ -0,0 +1,24 @@
+package com.tapmovie.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import com.tapmovie.entity.CatalogVersion;
+
+import jakarta.persistence.LockModeType;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+
+    /**
+     * Loads the version counter row and locks it until the transaction ends.
+     *
+     * @param id the counter row ID
+     * @return the locked counter row, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM CatalogVersion v WHERE v.id = ?1")
+    Optional<CatalogVersion> findForUpdate(Integer id);
+}
@@ -1,9 +1,127 @@
 package com.tapmovie.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.tapmovie.dto.MovieRow;
+import com.tapmovie.dto.MovieVersion;
+import com.tapmovie.dto.PosterReference;
 import com.tapmovie.entity.Movie;
 
-public interface MovieRepository extends JpaRepository<Movie, Integer> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface MovieRepository
+        extends JpaRepository<Movie, Integer>, JpaSpecificationExecutor<Movie>, MovieRepositoryCustom {
+
+    /**
+     * Returns which of the given poster file names are referenced by a movie.
+     *
+     * @param posters the poster file names to check
+     * @return the subset of the given names referenced by at least one movie
+     */
+    @Query("SELECT DISTINCT m.poster FROM Movie m WHERE m.poster IN ?1")
+    List<String> findReferencedPosters(Collection<String> posters);
+
+    /**
+     * Returns poster references ordered by poster name and movie ID, starting after the
+     * given reference. Used for keyset pagination over the poster column; the movie ID
+     * keeps the order unique when several movies share a poster.
+     *
+     * @param poster   the poster name of the last reference of the previous batch ("" for the first batch)
+     * @param movieId  the movie ID of the last reference of the previous batch (0 for the first batch)
+     * @param pageable the batch size
+     * @return the next batch of poster references
+     */
+    @Query("SELECT new com.tapmovie.dto.PosterReference(m.movieId, m.poster) FROM Movie m "
+            + "WHERE m.poster > ?1 OR (m.poster = ?1 AND m.movieId > ?2) ORDER BY m.poster, m.movieId")
+    List<PosterReference> findPosterReferencesAfter(String poster, Integer movieId, Pageable pageable);
+
+    /**
+     * Returns the row of one movie without loading the entity.
+     *
+     * @param movieId the ID of the movie
+     * @return the movie row, if the movie exists
+     */
+    @Query("SELECT " + ROW_SELECT + " FROM Movie m WHERE m.movieId = ?1")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<MovieRow> findRowById(Integer movieId);
+
+    /**
+     * Returns the rows of the movies with the given IDs.
+     *
+     * @param movieIds the IDs of the movies to load
+     * @return the rows of the existing movies among the given IDs, in no particular order
+     */
+    @Query("SELECT " + ROW_SELECT + " FROM Movie m WHERE m.movieId IN ?1")
+    List<MovieRow> findRowsByMovieIdIn(Collection<Integer> movieIds);
+
+    /**
+     * Returns the rows of the movies with an ID greater than the given one, in ID order.
+     * Used for keyset pagination over the whole catalog.
+     *
+     * @param movieId  the last movie ID of the previous batch (0 for the first batch)
+     * @param pageable the batch size
+     * @return the next batch of movie rows
+     */
+    @Query("SELECT " + ROW_SELECT + " FROM Movie m WHERE m.movieId > ?1 ORDER BY m.movieId")
+    List<MovieRow> findRowsAfter(Integer movieId, Pageable pageable);
+
+    /**
+     * Returns changed movies in (changeVersion, movieId) order, starting after the given
+     * position and up to the given version. Used for keyset pagination over changes.
+     *
+     * @param changeVersion the change version of the last movie of the previous batch
+     * @param movieId       the movie ID of the last movie of the previous batch
+     * @param untilVersion  the highest change version to return
+     * @param pageable      the batch size
+     * @return the next batch of movie versions
+     */
+    @Query("SELECT new com.tapmovie.dto.MovieVersion(m.movieId, m.changeVersion) FROM Movie m "
+            + "WHERE m.changeVersion <= ?3 "
+            + "AND (m.changeVersion > ?1 OR (m.changeVersion = ?1 AND m.movieId > ?2)) "
+            + "ORDER BY m.changeVersion, m.movieId")
+    List<MovieVersion> findChangesAfter(Long changeVersion, Integer movieId, Long untilVersion, Pageable pageable);
+
+    /**
+     * Assigns a change version to movies written before versions were tracked.
+     *
+     * @param changeVersion the version to assign
+     * @return the number of updated movies
+     */
+    @Modifying
+    @Query("UPDATE Movie m SET m.changeVersion = ?1 WHERE m.changeVersion IS NULL")
+    int backfillChangeVersion(Long changeVersion);
+
+    boolean existsByChangeVersionIsNull();
+
+    /**
+     * Locks the next batch of movies without person and studio references, in ID order.
+     * Used by the backfill, so concurrent writes to these movies wait until it has linked them.
+     *
+     * @param movieId  the last movie ID of the previous batch (0 for the first batch)
+     * @param pageable the batch size
+     * @return the next batch of unlinked movies
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Movie m WHERE m.directorId IS NULL AND m.movieId > ?1 ORDER BY m.movieId")
+    List<Movie> findUnlinkedForUpdate(Integer movieId, Pageable pageable);
+
+    boolean existsByDirectorIdIsNull();
 
+    // Constructor expression shared by the row projections; names are only read for unlinked movies
+    String ROW_SELECT = "new com.tapmovie.dto.MovieRow(m.movieId, m.title, "
+            + "CASE WHEN m.directorId IS NULL THEN m.director ELSE NULL END, "
+            + "CASE WHEN m.studioId IS NULL THEN m.studio ELSE NULL END, "
+            + "m.directorId, m.studioId, m.releaseYear, m.poster, m.placeholder)";
 }
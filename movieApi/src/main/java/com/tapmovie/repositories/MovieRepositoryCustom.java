@@ -0,0 +1,82 @@
+package com.tapmovie.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.tapmovie.dto.MovieRow;
+import com.tapmovie.entity.Movie;
+
+/**
+ * Custom repository fragment for movie queries that cannot be expressed as
+ * derived or annotated queries.
+ */
+public interface MovieRepositoryCustom {
+
+    /**
+     * Counts movies grouped by the value of one attribute.
+     *
+     * @param attribute     the Movie attribute to group by (e.g. "studio")
+     * @param specification an optional filter, may be null
+     * @return the number of movies per attribute value
+     */
+    Map<Object, Long> countGroupedBy(String attribute, Specification<Movie> specification);
+
+    /**
+     * Returns one page of movie rows without hydrating Movie entities. One extra
+     * row is fetched to tell whether a next page exists, so no count query is run.
+     *
+     * @param specification an optional filter, may be null
+     * @param pageable      the page and sort order
+     * @return the slice of movie rows
+     */
+    Slice<MovieRow> findRows(Specification<Movie> specification, Pageable pageable);
+
+    /**
+     * Counts the movies matching a filter.
+     *
+     * @param specification an optional filter, may be null
+     * @return the number of matching movies
+     */
+    long countRows(Specification<Movie> specification);
+
+    /**
+     * Loads the cast of several movies in one query.
+     *
+     * @param movieIds the IDs of the movies
+     * @return the cast per movie ID; movies without cast are absent
+     */
+    Map<Integer, Set<String>> findCastByMovieIds(Collection<Integer> movieIds);
+
+    /**
+     * Loads the person IDs of the cast of several movies in one query.
+     *
+     * @param movieIds the IDs of the movies
+     * @return the cast person IDs per movie ID; movies without cast are absent
+     */
+    Map<Integer, List<Integer>> findCastIdsByMovieIds(Collection<Integer> movieIds);
+
+    /**
+     * Inserts new movies and their cast using JDBC batches instead of one
+     * statement per row. Generated IDs are set on the given movies. Both the
+     * names and the person and studio references are written.
+     *
+     * @param movies the movies to insert, without IDs
+     */
+    void insertAll(List<Movie> movies);
+
+    /**
+     * Adds view counts to the popularity of movies using one JDBC batch, in one
+     * transaction: if any row fails, no count is added, so the caller can retry
+     * the same counts without adding some twice. Counts of movies deleted in the
+     * meantime are dropped.
+     *
+     * @param views the number of new views per movie ID
+     */
+    void addPopularity(Map<Integer, Long> views);
+}
@@ -0,0 +1,276 @@
+package com.tapmovie.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tapmovie.dto.MovieRow;
+import com.tapmovie.entity.Movie;
+import com.tapmovie.entity.Person;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementation of the {@link MovieRepositoryCustom} fragment using the Criteria API
+ * for queries and plain JDBC batches for bulk inserts. Paged listing queries are
+ * served from the Hibernate query cache when possible.
+ */
+public class MovieRepositoryCustomImpl implements MovieRepositoryCustom {
+
+    private static final String INSERT_MOVIE_SQL = "INSERT INTO movie "
+            + "(title, director, studio, release_year, poster, placeholder, change_version, director_id, studio_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CAST_SQL =
+            "INSERT INTO movie_cast (movie_movie_id, movie_cast) VALUES (?, ?)";
+
+    private static final String INSERT_PERSON_CAST_SQL =
+            "INSERT INTO movie_person_cast (movie_id, person_id) VALUES (?, ?)";
+
+    private static final String ADD_POPULARITY_SQL =
+            "UPDATE movie SET popularity = popularity + ? WHERE movie_id = ?";
+
+    private static final String CAST_BY_MOVIE_IDS_JPQL =
+            "SELECT m.movieId, c FROM Movie m JOIN m.movieCast c WHERE m.movieId IN :movieIds";
+
+    private static final String CAST_IDS_BY_MOVIE_IDS_JPQL =
+            "SELECT m.movieId, p.personId FROM Movie m JOIN m.castRefs p WHERE m.movieId IN :movieIds";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovieRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<Object, Long> countGroupedBy(String attribute, Specification<Movie> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Movie> root = query.from(Movie.class);
+        Path<Object> key = root.get(attribute);
+
+        query.multiselect(key, cb.count(root)).groupBy(key);
+        if (specification != null) {
+            query.where(specification.toPredicate(root, query, cb));
+        }
+
+        List<Object[]> rows = entityManager.createQuery(query).getResultList();
+        Map<Object, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            counts.put(row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Override
+    public Slice<MovieRow> findRows(Specification<Movie> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MovieRow> query = cb.createQuery(MovieRow.class);
+        Root<Movie> root = query.from(Movie.class);
+
+        // Select the scalar columns straight into the projection; names are only read for unlinked movies
+        query.select(cb.construct(MovieRow.class, root.get("movieId"), root.get("title"),
+                unlessLinked(cb, root, "director", "directorId"), unlessLinked(cb, root, "studio", "studioId"),
+                root.get("directorId"), root.get("studioId"), root.get("releaseYear"), root.get("poster"),
+                root.get("placeholder")));
+        if (specification != null) {
+            query.where(specification.toPredicate(root, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        // Popularity is updated behind Hibernate's back, so pages ordered by it are never cached
+        boolean cacheable = pageable.getSort().getOrderFor("popularity") == null;
+        List<MovieRow> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .setHint(HibernateHints.HINT_CACHEABLE, cacheable)
+                .getResultList();
+
+        // The extra row only signals that a next page exists
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+
+    @Override
+    public long countRows(Specification<Movie> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Movie> root = query.from(Movie.class);
+
+        query.select(cb.count(root));
+        if (specification != null) {
+            query.where(specification.toPredicate(root, query, cb));
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getSingleResult();
+    }
+
+    @Override
+    public Map<Integer, Set<String>> findCastByMovieIds(Collection<Integer> movieIds) {
+        Map<Integer, Set<String>> cast = new HashMap<>();
+        if (movieIds.isEmpty()) {
+            return cast;
+        }
+
+        List<Object[]> rows = entityManager.createQuery(CAST_BY_MOVIE_IDS_JPQL, Object[].class)
+                .setParameter("movieIds", movieIds)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+        for (Object[] row : rows) {
+            cast.computeIfAbsent((Integer) row[0], movieId -> new HashSet<>()).add((String) row[1]);
+        }
+        return cast;
+    }
+
+    @Override
+    public Map<Integer, List<Integer>> findCastIdsByMovieIds(Collection<Integer> movieIds) {
+        Map<Integer, List<Integer>> castIds = new HashMap<>();
+        if (movieIds.isEmpty()) {
+            return castIds;
+        }
+
+        List<Object[]> rows = entityManager.createQuery(CAST_IDS_BY_MOVIE_IDS_JPQL, Object[].class)
+                .setParameter("movieIds", movieIds)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+        for (Object[] row : rows) {
+            castIds.computeIfAbsent((Integer) row[0], movieId -> new ArrayList<>()).add((Integer) row[1]);
+        }
+        return castIds;
+    }
+
+    @Override
+    public void insertAll(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return;
+        }
+
+        // 1. Insert the movies in one batch; the driver returns the generated IDs in order
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_MOVIE_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Movie movie = movies.get(i);
+                        ps.setString(1, movie.getTitle());
+                        ps.setString(2, movie.getDirector());
+                        ps.setString(3, movie.getStudio());
+                        ps.setInt(4, movie.getReleaseYear());
+                        ps.setString(5, movie.getPoster());
+                        ps.setString(6, movie.getPlaceholder());
+                        ps.setLong(7, movie.getChangeVersion());
+                        ps.setObject(8, movie.getDirectorRef() != null
+                                ? movie.getDirectorRef().getPersonId() : null, Types.INTEGER);
+                        ps.setObject(9, movie.getStudioRef() != null
+                                ? movie.getStudioRef().getStudioId() : null, Types.INTEGER);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return movies.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < movies.size(); i++) {
+            Number movieId = (Number) keys.get(i).values().iterator().next();
+            movies.get(i).setMovieId(movieId.intValue());
+        }
+
+        // 2. Insert the cast of all movies, as names and as person references
+        List<Object[]> castRows = new ArrayList<>();
+        List<Object[]> personCastRows = new ArrayList<>();
+        for (Movie movie : movies) {
+            if (movie.getMovieCast() != null) {
+                for (String member : movie.getMovieCast()) {
+                    castRows.add(new Object[] { movie.getMovieId(), member });
+                }
+            }
+            if (movie.getCastRefs() != null) {
+                for (Person member : movie.getCastRefs()) {
+                    personCastRows.add(new Object[] { movie.getMovieId(), member.getPersonId() });
+                }
+            }
+        }
+        if (!castRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CAST_SQL, castRows);
+        }
+        if (!personCastRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PERSON_CAST_SQL, personCastRows);
+        }
+
+        // 3. JDBC writes bypass Hibernate's table timestamps; drop cached query results once committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictQueryResults();
+                }
+            });
+        } else {
+            evictQueryResults();
+        }
+    }
+
+    @Override
+    @Transactional
+    public void addPopularity(Map<Integer, Long> views) {
+        List<Object[]> rows = new ArrayList<>(views.size());
+        for (Map.Entry<Integer, Long> entry : views.entrySet()) {
+            rows.add(new Object[] { entry.getValue(), entry.getKey() });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_POPULARITY_SQL, rows);
+        }
+    }
+
+    // Helper method to select a name column only while the movie has no reference in its place
+    private Expression<String> unlessLinked(CriteriaBuilder cb, Root<Movie> root, String name, String referenceId) {
+        return cb.<String>selectCase()
+                .when(cb.isNull(root.get(referenceId)), root.<String>get(name))
+                .otherwise(cb.nullLiteral(String.class));
+    }
+
+    // Helper method to evict all cached query results
+    private void evictQueryResults() {
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
@@ -0,0 +1,91 @@
+package com.tapmovie.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.tapmovie.dto.MovieFilter;
+import com.tapmovie.entity.Movie;
+import com.tapmovie.entity.Person;
+import com.tapmovie.entity.Studio;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Factory for JPA specifications used by the filtered movie listing.
+ * Every predicate is an equality or range on an indexed column, so filtered
+ * pages are served by index range scans rather than table scans. Once all
+ * movies are linked to the person and studio tables, names are resolved
+ * through their unique index and movies are matched on integer keys.
+ */
+public final class MovieSpecifications {
+
+    private MovieSpecifications() {
+    }
+
+    /**
+     * Builds the specification matching a movie filter.
+     *
+     * @param filter the filter to apply
+     * @param linked whether every movie references the person and studio tables
+     * @return a specification combining all set filter fields with AND
+     */
+    public static Specification<Movie> matching(MovieFilter filter, boolean linked) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(filter.director())) {
+                if (linked) {
+                    Subquery<Integer> personId = query.subquery(Integer.class);
+                    Root<Person> person = personId.from(Person.class);
+                    personId.select(person.get("personId"))
+                            .where(cb.equal(person.get("name"), filter.director().strip()));
+                    predicates.add(cb.equal(root.get("directorId"), personId));
+                } else {
+                    predicates.add(cb.equal(root.get("director"), filter.director().strip()));
+                }
+            }
+            if (hasText(filter.studio())) {
+                if (linked) {
+                    Subquery<Integer> studioId = query.subquery(Integer.class);
+                    Root<Studio> studio = studioId.from(Studio.class);
+                    studioId.select(studio.get("studioId"))
+                            .where(cb.equal(studio.get("name"), filter.studio().strip()));
+                    predicates.add(cb.equal(root.get("studioId"), studioId));
+                } else {
+                    predicates.add(cb.equal(root.get("studio"), filter.studio().strip()));
+                }
+            }
+            if (filter.yearFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("releaseYear"), filter.yearFrom()));
+            }
+            if (filter.yearTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("releaseYear"), filter.yearTo()));
+            }
+            if (hasText(filter.cast())) {
+                // Resolve the cast member through the movie_cast (or movie_person_cast) index, then match movie IDs
+                Subquery<Integer> castMovies = query.subquery(Integer.class);
+                Root<Movie> castRoot = castMovies.from(Movie.class);
+                if (linked) {
+                    Join<Movie, Person> castMember = castRoot.join("castRefs");
+                    castMovies.select(castRoot.get("movieId"))
+                            .where(cb.equal(castMember.get("name"), filter.cast().strip()));
+                } else {
+                    Join<Movie, String> castMember = castRoot.join("movieCast");
+                    castMovies.select(castRoot.get("movieId")).where(cb.equal(castMember, filter.cast().strip()));
+                }
+                predicates.add(root.get("movieId").in(castMovies));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,27 @@
+package com.tapmovie.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.tapmovie.entity.MovieTombstone;
+
+public interface MovieTombstoneRepository extends JpaRepository<MovieTombstone, Integer> {
+
+    /**
+     * Returns tombstones in (changeVersion, movieId) order, starting after the given
+     * position and up to the given version. Used for keyset pagination over deletes.
+     *
+     * @param changeVersion the change version of the last tombstone of the previous batch
+     * @param movieId       the movie ID of the last tombstone of the previous batch
+     * @param untilVersion  the highest change version to return
+     * @param pageable      the batch size
+     * @return the next batch of tombstones
+     */
+    @Query("SELECT t FROM MovieTombstone t WHERE t.changeVersion <= ?3 "
+            + "AND (t.changeVersion > ?1 OR (t.changeVersion = ?1 AND t.movieId > ?2)) "
+            + "ORDER BY t.changeVersion, t.movieId")
+    List<MovieTombstone> findChangesAfter(Long changeVersion, Integer movieId, Long untilVersion, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.tapmovie.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.tapmovie.entity.PosterFile;
+
+public interface PosterFileRepository extends JpaRepository<PosterFile, String> {
+
+}
@@ -0,0 +1,129 @@
+package com.tapmovie.service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.entity.Movie;
+import com.tapmovie.event.MovieChangedEvent;
+import com.tapmovie.event.MovieChangedEvent.ChangeType;
+import com.tapmovie.repositories.MovieRepository;
+
+/**
+ * Background job linking movies written before the person and studio tables
+ * existed, as the online part of the migration away from the name columns.
+ *
+ * Movies are linked in small batches, each in its own transaction holding row
+ * locks on just that batch, with a pause in between, so the catalog stays
+ * writable throughout. New writes link their movies themselves, so once a run
+ * finds nothing left the job only checks that this is still the case. Movies
+ * whose names are respelled to their stored spelling get a new catalog version
+ * and a change event, so caches, indexes and synced clients pick it up. The
+ * name columns can be dropped once every instance runs with linked movies.
+ */
+@Service
+public class CatalogNameBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogNameBackfill.class);
+
+    private final MovieRepository movieRepository;
+    private final CatalogNameService catalogNameService;
+    private final CatalogVersionService catalogVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${base.url}")
+    private String baseUrl;
+
+    @Value("${project.name-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${project.name-backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${project.name-backfill.batch-pause:PT0.1S}")
+    private Duration batchPause;
+
+    public CatalogNameBackfill(MovieRepository movieRepository, CatalogNameService catalogNameService,
+                               CatalogVersionService catalogVersionService, ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.movieRepository = movieRepository;
+        this.catalogNameService = catalogNameService;
+        this.catalogVersionService = catalogVersionService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs one backfill pass. Scheduled with a fixed delay, so runs never overlap.
+     */
+    @Scheduled(initialDelayString = "${project.name-backfill.initial-delay:PT1M}",
+            fixedDelayString = "${project.name-backfill.interval:PT10M}")
+    public void backfill() {
+        if (!enabled || catalogNameService.refreshLinked()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int linked = 0;
+        Integer lastMovieId = 0;
+        try {
+            List<Movie> batch;
+            do {
+                batch = linkBatch(lastMovieId);
+                if (!batch.isEmpty()) {
+                    lastMovieId = batch.get(batch.size() - 1).getMovieId();
+                }
+                linked += batch.size();
+                Thread.sleep(batchPause.toMillis());
+            } while (batch.size() == batchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Name backfill aborted after {} movies; resuming with the next run", linked, e);
+        }
+
+        boolean complete = catalogNameService.refreshLinked();
+        log.info("Name backfill linked {} movies in {} ms{}", linked, (System.nanoTime() - start) / 1_000_000,
+                complete ? "; all movies are linked" : "");
+    }
+
+    // Locks and links the next batch of unlinked movies in one transaction
+    private List<Movie> linkBatch(Integer lastMovieId) {
+        return transactionTemplate.execute(status -> {
+            List<Movie> movies = movieRepository.findUnlinkedForUpdate(lastMovieId, PageRequest.of(0, batchSize));
+            List<Movie> respelled = catalogNameService.link(movies);
+            if (!respelled.isEmpty()) {
+                long changeVersion = catalogVersionService.next();
+                for (Movie movie : respelled) {
+                    movie.setChangeVersion(changeVersion);
+                    eventPublisher.publishEvent(
+                            new MovieChangedEvent(ChangeType.UPDATED, movie.getMovieId(), toMovieDto(movie),
+                                    changeVersion));
+                }
+            }
+            return movies;
+        });
+    }
+
+    // Maps a respelled movie as MovieServiceImpl does for its own writes
+    private MovieDto toMovieDto(Movie movie) {
+        // Copy the cast out of the persistent collection, as the event is handled after the session closes
+        String posterUrl = baseUrl + "/file/" + movie.getPoster();
+        Set<String> cast = movie.getMovieCast() != null ? new HashSet<>(movie.getMovieCast()) : null;
+        return new MovieDto(movie.getMovieId(), movie.getTitle(), movie.getDirector(), movie.getStudio(), cast,
+                movie.getReleaseYear(), movie.getPoster(), posterUrl, movie.getPlaceholder());
+    }
+}
@@ -0,0 +1,336 @@
+package com.tapmovie.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tapmovie.cache.NameInterner;
+import com.tapmovie.entity.Movie;
+import com.tapmovie.entity.Person;
+import com.tapmovie.entity.Studio;
+import com.tapmovie.repositories.MovieRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Service mapping director, studio and cast names to rows of the person and
+ * studio tables and back.
+ *
+ * Names are registered in the transaction writing the movies, so a movie write
+ * needs a single connection and a rolled back write leaves no name behind. New
+ * names are inserted in sorted order, so concurrent writers lock them in the same
+ * order and wait for each other rather than deadlock. Rows are never changed once
+ * written, so both directions are cached in memory, new IDs once committed; each
+ * direction keeps its most recently used entries. As with the former name columns,
+ * names differing only in case share one row; linking respells a movie's names as
+ * stored, so every read of the movie shows the same spelling.
+ */
+@Service
+public class CatalogNameService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MovieRepository movieRepository;
+    private final NameInterner nameInterner;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final NameTable people;
+    private final NameTable studios;
+
+    // Whether every movie references the person and studio tables
+    private volatile boolean linked;
+
+    public CatalogNameService(JdbcTemplate jdbcTemplate, MovieRepository movieRepository,
+                              NameInterner nameInterner,
+                              @Value("${project.catalog-names.cache-size:100000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.movieRepository = movieRepository;
+        this.nameInterner = nameInterner;
+        this.people = new NameTable("person", "person_id", cacheSize);
+        this.studios = new NameTable("studio", "studio_id", cacheSize);
+    }
+
+    /**
+     * Checks at startup whether the backfill has already completed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refreshLinked();
+    }
+
+    /**
+     * Checks whether every movie references the person and studio tables, so
+     * filters can match on their IDs alone.
+     *
+     * @return true once the backfill has completed
+     */
+    public boolean isLinked() {
+        return linked;
+    }
+
+    /**
+     * Re-checks whether any movie still lacks its references.
+     *
+     * @return true if every movie is linked
+     */
+    public boolean refreshLinked() {
+        linked = !movieRepository.existsByDirectorIdIsNull();
+        return linked;
+    }
+
+    /**
+     * Sets the director, studio and cast references of movies from their names,
+     * registering names seen for the first time. Names are respelled as stored,
+     * so the written movie reads back as the indexes and responses see it. Must run
+     * in the transaction writing the movies.
+     *
+     * @param movies the movies to link
+     * @return the movies whose names were respelled
+     */
+    public List<Movie> link(List<Movie> movies) {
+        Set<String> personNames = new HashSet<>();
+        Set<String> studioNames = new HashSet<>();
+        for (Movie movie : movies) {
+            addName(personNames, movie.getDirector());
+            addName(studioNames, movie.getStudio());
+            if (movie.getMovieCast() != null) {
+                for (String member : movie.getMovieCast()) {
+                    addName(personNames, member);
+                }
+            }
+        }
+        Map<String, Integer> personIds = resolve(people, personNames);
+        Map<String, Integer> studioIds = resolve(studios, studioNames);
+        Map<Integer, String> personSpellings = names(people, personIds.values());
+        Map<Integer, String> studioSpellings = names(studios, studioIds.values());
+
+        // References are proxies; linking a movie loads no person or studio rows
+        List<Movie> respelled = new ArrayList<>();
+        for (Movie movie : movies) {
+            if (respell(movie, personIds, personSpellings, studioIds, studioSpellings)) {
+                respelled.add(movie);
+            }
+            movie.setDirectorRef(reference(Person.class, personIds, movie.getDirector()));
+            movie.setStudioRef(reference(Studio.class, studioIds, movie.getStudio()));
+            Set<Person> castRefs = new HashSet<>();
+            if (movie.getMovieCast() != null) {
+                for (String member : movie.getMovieCast()) {
+                    Person castRef = reference(Person.class, personIds, member);
+                    if (castRef != null) {
+                        castRefs.add(castRef);
+                    }
+                }
+            }
+            movie.setCastRefs(castRefs);
+        }
+        return respelled;
+    }
+
+    /**
+     * Returns the names of people, loading uncached ones with one query.
+     *
+     * @param personIds the person IDs
+     * @return the name per person ID
+     */
+    public Map<Integer, String> personNames(Collection<Integer> personIds) {
+        return names(people, personIds);
+    }
+
+    /**
+     * Returns the names of studios, loading uncached ones with one query.
+     *
+     * @param studioIds the studio IDs
+     * @return the name per studio ID
+     */
+    public Map<Integer, String> studioNames(Collection<Integer> studioIds) {
+        return names(studios, studioIds);
+    }
+
+    // Replaces the names of a movie with their stored spelling, returning whether any changed
+    private static boolean respell(Movie movie, Map<String, Integer> personIds, Map<Integer, String> personSpellings,
+                                   Map<String, Integer> studioIds, Map<Integer, String> studioSpellings) {
+        String director = stored(personIds, personSpellings, movie.getDirector());
+        String studio = stored(studioIds, studioSpellings, movie.getStudio());
+        boolean changed = !Objects.equals(director, movie.getDirector()) || !Objects.equals(studio, movie.getStudio());
+        movie.setDirector(director);
+        movie.setStudio(studio);
+        if (movie.getMovieCast() != null) {
+            Set<String> cast = new HashSet<>();
+            for (String member : movie.getMovieCast()) {
+                cast.add(stored(personIds, personSpellings, member));
+            }
+            if (!cast.equals(movie.getMovieCast())) {
+                movie.setMovieCast(cast);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // Returns the stored spelling of a name, or the name itself if it has no row
+    private static String stored(Map<String, Integer> ids, Map<Integer, String> spellings, String name) {
+        Integer id = name != null ? ids.get(name) : null;
+        String spelling = id != null ? spellings.get(id) : null;
+        return spelling != null ? spelling : name;
+    }
+
+    // Collects a name to link; null and blank names have no row
+    private static void addName(Set<String> names, String name) {
+        if (name != null && !name.isBlank()) {
+            names.add(name);
+        }
+    }
+
+    // Returns a proxy for the row of a name, or null for a name that has no row
+    private <T> T reference(Class<T> type, Map<String, Integer> ids, String name) {
+        Integer id = name != null ? ids.get(name) : null;
+        return id != null ? entityManager.getReference(type, id) : null;
+    }
+
+    // Maps names to IDs, registering unknown names in the caller's transaction
+    private Map<String, Integer> resolve(NameTable table, Set<String> names) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String name : names) {
+            Integer id = table.ids().get(name);
+            if (id != null) {
+                ids.put(name, id);
+            } else {
+                misses.add(name);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Collections.sort(misses); // The lock order shared by all writers
+            ids.putAll(register(table, misses));
+        }
+        return ids;
+    }
+
+    // Looks up names, inserting those that do not exist yet
+    private Map<String, Integer> register(NameTable table, List<String> names) {
+        Map<String, Integer> rows = select(table, names, false);
+        List<String> missing = names.stream().filter(name -> !rows.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO " + table.name() + " (name) VALUES (?)",
+                    missing.stream().map(name -> new Object[] { name }).toList());
+            // A locking read also sees rows another writer of the same name has just committed
+            rows.putAll(select(table, missing, true));
+        }
+        // Only the ID is cached here, as the stored spelling of a name may differ in case,
+        // and only once committed, as a rolled back insert leaves an ID without a row
+        afterCommit(() -> {
+            for (Map.Entry<String, Integer> row : rows.entrySet()) {
+                table.ids().putIfAbsent(row.getKey(), row.getValue());
+            }
+        });
+        return rows;
+    }
+
+    // Runs an action once the current transaction has committed, or right away outside a transaction
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Selects the IDs of the given names, keyed by the requested spelling
+    private Map<String, Integer> select(NameTable table, List<String> names, boolean lock) {
+        Map<String, Integer> stored = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        String sql = "SELECT " + table.idColumn() + ", name FROM " + table.name()
+                + " WHERE name IN (" + String.join(", ", Collections.nCopies(names.size(), "?")) + ")"
+                + (lock ? " FOR UPDATE" : "");
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> stored.put(rs.getString(2), rs.getInt(1)),
+                names.toArray());
+
+        Map<String, Integer> ids = new HashMap<>();
+        for (String name : names) {
+            Integer id = stored.get(name);
+            if (id != null) {
+                ids.put(name, id);
+            }
+        }
+        return ids;
+    }
+
+    // Maps IDs to names, loading uncached ones with one query
+    private Map<Integer, String> names(NameTable table, Collection<Integer> ids) {
+        Map<Integer, String> names = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer id : ids) {
+            if (id == null) {
+                continue;
+            }
+            String name = table.names().get(id);
+            if (name != null) {
+                names.put(id, name);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            String sql = "SELECT " + table.idColumn() + ", name FROM " + table.name()
+                    + " WHERE " + table.idColumn() + " IN ("
+                    + String.join(", ", Collections.nCopies(misses.size(), "?")) + ")";
+            Map<Integer, String> loaded = new HashMap<>();
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> loaded.put(rs.getInt(1),
+                    nameInterner.intern(rs.getString(2))), misses.toArray());
+            names.putAll(loaded);
+
+            // Rows inserted by the current transaction only exist once it commits
+            afterCommit(() -> {
+                for (Map.Entry<Integer, String> row : loaded.entrySet()) {
+                    table.names().putIfAbsent(row.getKey(), row.getValue());
+                }
+            });
+        }
+        return names;
+    }
+
+    /**
+     * One name table with its in-memory lookups, each bounded to the most recently used entries.
+     */
+    private record NameTable(String name, String idColumn, Map<String, Integer> ids, Map<Integer, String> names) {
+
+        NameTable(String name, String idColumn, int cacheSize) {
+            this(name, idColumn, lruMap(cacheSize), lruMap(cacheSize));
+        }
+    }
+
+    // Helper method to create a thread-safe map evicting its least recently used entry past maxSize
+    private static <K, V> Map<K, V> lruMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.tapmovie.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tapmovie.entity.CatalogVersion;
+import com.tapmovie.repositories.CatalogVersionRepository;
+import com.tapmovie.repositories.MovieRepository;
+
+/**
+ * Service assigning monotonically increasing catalog versions to movie writes.
+ *
+ * The counter is a single database row that writers lock for the rest of their
+ * transaction, so a committed version implies that all lower versions have
+ * committed too. Readers of the current version never take the lock.
+ */
+@Service
+public class CatalogVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogVersionService.class);
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final MovieRepository movieRepository;
+
+    public CatalogVersionService(CatalogVersionRepository catalogVersionRepository, MovieRepository movieRepository) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.movieRepository = movieRepository;
+    }
+
+    /**
+     * Creates the counter row and versions movies written before versions were tracked.
+     * Runs before any other startup listener reads the catalog version.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void initialize() {
+        if (catalogVersionRepository.findForUpdate(CatalogVersion.ID).isEmpty()) {
+            catalogVersionRepository.saveAndFlush(new CatalogVersion(CatalogVersion.ID, 0L));
+        }
+        if (movieRepository.existsByChangeVersionIsNull()) {
+            long version = next();
+            int backfilled = movieRepository.backfillChangeVersion(version);
+            log.info("Assigned catalog version {} to {} unversioned movies", version, backfilled);
+        }
+    }
+
+    /**
+     * Allocates the next catalog version within the caller's transaction.
+     *
+     * @return the new version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        CatalogVersion catalogVersion = catalogVersionRepository.findForUpdate(CatalogVersion.ID)
+                .orElseThrow(() -> new IllegalStateException("Catalog version counter is not initialized"));
+        catalogVersion.setVersion(catalogVersion.getVersion() + 1);
+        return catalogVersion.getVersion();
+    }
+
+    /**
+     * Returns the latest committed catalog version.
+     *
+     * @return the current version, 0 for an empty catalog
+     */
+    @Transactional(readOnly = true)
+    public long current() {
+        return catalogVersionRepository.findById(CatalogVersion.ID)
+                .map(CatalogVersion::getVersion)
+                .orElse(0L);
+    }
+}
@@ -3,9 +3,12 @@ package com.tapmovie.service;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Optional;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import com.tapmovie.entity.PosterFile;
+
 /**
  * Interface for file handling services.
  * Defines methods for uploading files and retrieving file resources.
@@ -31,4 +34,21 @@ public interface FileService {
      * @throws FileNotFoundException If the file does not exist at the specified path.
      */
     InputStream getResourceFile(String path, String fileName) throws FileNotFoundException;
+
+    /**
+     * Retrieves the metadata (detected media type and size) recorded for a file.
+     *
+     * @param fileName The name of the file, relative to the upload directory.
+     * @return The recorded metadata, or an empty Optional for files stored without metadata.
+     */
+    Optional<PosterFile> getFileMetadata(String fileName);
+
+    /**
+     * Deletes a file together with all of its generated variants.
+     *
+     * @param path The directory path where the file is located.
+     * @param fileName The name of the file to be deleted.
+     * @throws IOException If an I/O error occurs during deletion.
+     */
+    void deleteFile(String path, String fileName) throws IOException;
 }
@@ -1,5 +1,6 @@
 package com.tapmovie.service;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -7,12 +8,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.tapmovie.entity.PosterFile;
+
 /**
  * Implementation of the FileService interface.
  * Provides methods for uploading files and retrieving file resources.
@@ -20,17 +24,19 @@ import org.springframework.web.multipart.MultipartFile;
 @Service
 public class FileServiceImpl implements FileService {
 
-    @Override
-    public String uploadFile(String path, MultipartFile file) throws IOException {
-        // Define allowed MIME types for uploaded files
-        List<String> allowedTypes = List.of("image/png", "image/jpeg", "image/gif");
+    // Number of leading bytes inspected to detect the media type of an upload
+    private static final int SIGNATURE_LENGTH = 8;
 
-        // Check if the file type is allowed
-        String contentType = file.getContentType();
-        if (!allowedTypes.contains(contentType)) {
-            throw new IllegalArgumentException("Invalid file type: " + contentType);
-        }
+    private final PosterVariantService posterVariantService;
+    private final PosterMetadataService posterMetadataService;
 
+    public FileServiceImpl(PosterVariantService posterVariantService, PosterMetadataService posterMetadataService) {
+        this.posterVariantService = posterVariantService;
+        this.posterMetadataService = posterMetadataService;
+    }
+
+    @Override
+    public String uploadFile(String path, MultipartFile file) throws IOException {
         // Generate a unique filename using UUID to avoid name collisions
         String uniqueFileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
         String filePath = path + File.separator + uniqueFileName;
@@ -42,13 +48,30 @@ public class FileServiceImpl implements FileService {
             directory.mkdirs();
         }
 
-        // Attempt to copy the file to the specified path
-        try {
-            Files.copy(file.getInputStream(), Paths.get(filePath));
+        // Detect the media type from the file content instead of trusting the client
+        String mediaType;
+        try (InputStream input = new BufferedInputStream(file.getInputStream())) {
+            input.mark(SIGNATURE_LENGTH);
+            byte[] signature = input.readNBytes(SIGNATURE_LENGTH);
+            input.reset();
+
+            mediaType = detectMediaType(signature);
+            if (mediaType == null) {
+                throw new IllegalArgumentException("Invalid file type: " + file.getContentType());
+            }
+
+            // Attempt to copy the file to the specified path
+            Files.copy(input, Paths.get(filePath));
         } catch (IOException e) {
             throw new IOException("Could not save file: " + uniqueFileName, e);
         }
 
+        // Persist the detected media type and size alongside the file name
+        posterMetadataService.record(uniqueFileName, mediaType, file.getSize());
+
+        // Generate the downscaled variants in the background
+        posterVariantService.generateVariants(path, uniqueFileName, mediaType);
+
         // Return the unique filename for reference
         return uniqueFileName;
     }
@@ -61,4 +84,44 @@ public class FileServiceImpl implements FileService {
         // Return an InputStream for reading the specified file
         return new FileInputStream(filePath);
     }
+
+    @Override
+    public Optional<PosterFile> getFileMetadata(String fileName) {
+        return posterMetadataService.find(fileName);
+    }
+
+    @Override
+    public void deleteFile(String path, String fileName) throws IOException {
+        // Delete the variants first so no variant outlives its original
+        posterVariantService.deleteVariants(path, fileName);
+        Files.deleteIfExists(Paths.get(path + File.separator + fileName));
+        posterMetadataService.remove(fileName);
+    }
+
+    // Helper method to map the leading bytes of a file to one of the allowed image types
+    private String detectMediaType(byte[] signature) {
+        if (startsWith(signature, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (startsWith(signature, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (startsWith(signature, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        return null; // Not an allowed type
+    }
+
+    // Helper method to compare a byte array prefix against unsigned byte values
+    private boolean startsWith(byte[] bytes, int... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((bytes[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
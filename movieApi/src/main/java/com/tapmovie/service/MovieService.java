@@ -1,19 +1,35 @@
 package com.tapmovie.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import com.tapmovie.dto.MovieBatchResponse;
 import com.tapmovie.dto.MovieDto;
+import com.tapmovie.dto.MovieFacetsResponse;
+import com.tapmovie.dto.MovieImportResponse;
+import com.tapmovie.dto.MovieFilter;
 import com.tapmovie.dto.MoviePageResponse;
+import com.tapmovie.dto.MovieSuggestion;
 
 public interface MovieService {
 	MovieDto addMovie(MovieDto movieDto,MultipartFile file ) throws IOException;
+	MovieImportResponse importMovies(InputStream ndjson) throws IOException;
 	MovieDto getMovie(Integer movieId);
+	MovieBatchResponse getMovies(List<Integer> movieIds);
 	List<MovieDto> getAllMovies();
 	MovieDto updateMovie(Integer movieId,MovieDto movieDto,MultipartFile file) throws IOException;
 	String deleteMovie(Integer movieId) throws IOException;
-	MoviePageResponse getAllMoviesWithPagination(Integer pageNumber,Integer pageSize);
-	MoviePageResponse getAllMoviesWithPaginationAndSorting(Integer pageNumber,Integer pageSize,String sortBy,String direction);
+	MoviePageResponse getAllMoviesWithPagination(Integer pageNumber,Integer pageSize,MovieFilter filter,boolean withTotals);
+	MoviePageResponse getAllMoviesWithPaginationAndSorting(Integer pageNumber,Integer pageSize,String sortBy,String direction,MovieFilter filter,boolean withTotals);
+	List<MovieDto> getMoviesAfter(Integer movieId,Integer limit);
+	long getCatalogVersion();
+	void writeChanges(Long sinceVersion,Long untilVersion,OutputStream output) throws IOException;
+	List<MovieDto> searchMovies(String query,Integer limit);
+	List<MovieSuggestion> suggestMovies(String prefix,Integer limit);
+	List<MovieDto> getSimilarMovies(Integer movieId,Integer limit);
+	MovieFacetsResponse getMovieFacets(MovieFilter filter,Integer yearBucket,Integer limit);
 }
@@ -1,28 +1,88 @@
 package com.tapmovie.service;
 
-import java.io.File;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tapmovie.cache.MovieCache;
+import com.tapmovie.cache.MovieCountCache;
+import com.tapmovie.cache.NameInterner;
+import com.tapmovie.cache.SingleFlight;
+import com.tapmovie.cache.StaleReads;
+import com.tapmovie.dto.MovieBatchResponse;
+import com.tapmovie.dto.MovieChange;
 import com.tapmovie.dto.MovieDto;
+import com.tapmovie.dto.MovieFacetsResponse;
+import com.tapmovie.dto.MovieFilter;
+import com.tapmovie.dto.MovieImportResponse;
+import com.tapmovie.dto.MovieImportResponse.ImportError;
 import com.tapmovie.dto.MoviePageResponse;
+import com.tapmovie.dto.MovieRow;
+import com.tapmovie.dto.MovieSuggestion;
+import com.tapmovie.dto.MovieVersion;
 import com.tapmovie.entity.Movie;
+import com.tapmovie.entity.MovieTombstone;
+import com.tapmovie.event.MovieChangedEvent;
+import com.tapmovie.event.MovieChangedEvent.ChangeType;
+import com.tapmovie.event.PosterReplacedEvent;
+import com.tapmovie.exception.BatchLimitExceededException;
 import com.tapmovie.exception.EmptyFileException;
 import com.tapmovie.exception.InvalidSortFieldException;
 import com.tapmovie.exception.MovieNotFoundException;
+import com.tapmovie.index.MovieCatalogStore;
+import com.tapmovie.index.MovieFacetIndex;
+import com.tapmovie.index.MovieSearchIndex;
+import com.tapmovie.index.MovieSimilarityIndex;
+import com.tapmovie.index.MovieSuggestIndex;
 import com.tapmovie.repositories.MovieRepository;
+import com.tapmovie.repositories.MovieSpecifications;
+import com.tapmovie.repositories.MovieTombstoneRepository;
+import com.tapmovie.util.AppConstants;
+import com.tapmovie.util.CompactStringSet;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Implementation of the MovieService interface.
@@ -32,8 +92,30 @@ import com.tapmovie.repositories.MovieRepository;
 @Service
 public class MovieServiceImpl implements MovieService {
 
+    private static final Logger log = LoggerFactory.getLogger(MovieServiceImpl.class);
+
     private final MovieRepository movieRepository;
     private final FileService fileService;
+    private final PosterVariantService posterVariantService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieSuggestIndex movieSuggestIndex;
+    private final MovieFacetIndex movieFacetIndex;
+    private final MovieSimilarityIndex movieSimilarityIndex;
+    private final MovieCache movieCache;
+    private final MovieCatalogStore movieCatalogStore;
+    private final MovieCountCache movieCountCache;
+    private final NameInterner nameInterner;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogNameService catalogNameService;
+    private final MovieViewCounter movieViewCounter;
+    private final MovieTombstoneRepository movieTombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final SingleFlight<Integer, MovieDto> movieFlight;
+    private final SingleFlight<PageKey, MoviePageResponse> pageFlight;
+    private final Executor cacheRefreshTaskExecutor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     // Injected configuration properties
     @Value("${project.poster}")
@@ -42,12 +124,51 @@ public class MovieServiceImpl implements MovieService {
     @Value("${base.url}")
     private String baseUrl;
 
-    public MovieServiceImpl(MovieRepository movieRepository, FileService fileService) {
+    @Value("${project.import.batch-size:500}")
+    private int importBatchSize;
+
+    // Maximum number of row errors reported back by a bulk import
+    private static final int MAX_IMPORT_ERRORS = 100;
+
+    // Column lengths of the movie table, checked per row so one long value cannot fail a whole import batch
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    public MovieServiceImpl(MovieRepository movieRepository, FileService fileService,
+            PosterVariantService posterVariantService, ApplicationEventPublisher eventPublisher,
+            MovieSearchIndex movieSearchIndex, MovieSuggestIndex movieSuggestIndex, MovieFacetIndex movieFacetIndex,
+            MovieSimilarityIndex movieSimilarityIndex, MovieCache movieCache, MovieCatalogStore movieCatalogStore,
+            MovieCountCache movieCountCache,
+            NameInterner nameInterner, CatalogVersionService catalogVersionService,
+            CatalogNameService catalogNameService, MovieViewCounter movieViewCounter,
+            MovieTombstoneRepository movieTombstoneRepository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry, @Qualifier("cacheRefreshTaskExecutor") Executor cacheRefreshTaskExecutor) {
         this.movieRepository = movieRepository;
         this.fileService = fileService;
+        this.posterVariantService = posterVariantService;
+        this.eventPublisher = eventPublisher;
+        this.movieSearchIndex = movieSearchIndex;
+        this.movieSuggestIndex = movieSuggestIndex;
+        this.movieFacetIndex = movieFacetIndex;
+        this.movieSimilarityIndex = movieSimilarityIndex;
+        this.movieCache = movieCache;
+        this.movieCatalogStore = movieCatalogStore;
+        this.movieCountCache = movieCountCache;
+        this.nameInterner = nameInterner;
+        this.catalogVersionService = catalogVersionService;
+        this.catalogNameService = catalogNameService;
+        this.movieViewCounter = movieViewCounter;
+        this.movieTombstoneRepository = movieTombstoneRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.movieFlight = new SingleFlight<>("movie", meterRegistry);
+        this.pageFlight = new SingleFlight<>("page", meterRegistry);
+        this.cacheRefreshTaskExecutor = cacheRefreshTaskExecutor;
     }
 
     @Override
+    @Transactional(rollbackFor = IOException.class)
     public MovieDto addMovie(MovieDto movieDto, MultipartFile file) throws IOException {
         // Validate the uploaded file
         if (file == null || file.isEmpty()) {
@@ -56,6 +177,7 @@ public class MovieServiceImpl implements MovieService {
 
         // 1. Upload the file and get the uploaded file name
         String uploadedFileName = fileService.uploadFile(path, file);
+        eventPublisher.publishEvent(new PosterReplacedEvent(null, uploadedFileName)); // Removed again on rollback
 
         // 2. Set the uploaded file name in the DTO
         movieDto.setPoster(uploadedFileName);
@@ -69,48 +191,308 @@ public class MovieServiceImpl implements MovieService {
         movie.setReleaseYear(movieDto.getReleaseYear());
         movie.setPoster(movieDto.getPoster());
 
-        // 4. Save the movie entity to the repository
+        // 4. Compute the inline placeholder once so reads never have to, and link the names
+        movie.setPlaceholder(posterVariantService.createPlaceholder(path, uploadedFileName));
+        catalogNameService.link(List.of(movie));
+        movie.setChangeVersion(catalogVersionService.next());
+
+        // 5. Save the movie entity to the repository
         Movie savedMovie = movieRepository.save(movie);
 
-        // 5. Generate the poster URL
-        String posterUrl = baseUrl + "/file/" + savedMovie.getPoster();
+        // 6. Return the Movie DTO with all relevant information, notifying the indexes
+        MovieDto savedMovieDto = toMovieDto(savedMovie);
+        eventPublisher.publishEvent(new MovieChangedEvent(ChangeType.CREATED, savedMovie.getMovieId(), savedMovieDto,
+                savedMovie.getChangeVersion()));
+        return savedMovieDto;
+    }
+
+    @Override
+    public MovieImportResponse importMovies(InputStream ndjson) throws IOException {
+        List<ImportError> errors = new ArrayList<>();
+        List<Movie> batch = new ArrayList<>(importBatchSize);
+        List<Long> batchLines = new ArrayList<>(importBatchSize);
+        int imported = 0;
+        int failed = 0;
+        long lineNumber = 0;
+
+        // Stream the input line by line; only one batch is held in memory
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                try {
+                    batch.add(toImportedMovie(line));
+                    batchLines.add(lineNumber);
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    failed++;
+                    addImportError(errors, lineNumber, e.getMessage());
+                }
+
+                if (batch.size() == importBatchSize) {
+                    int inserted = insertImportBatch(batch, batchLines, errors);
+                    imported += inserted;
+                    failed += batch.size() - inserted;
+                    batch.clear();
+                    batchLines.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            int inserted = insertImportBatch(batch, batchLines, errors);
+            imported += inserted;
+            failed += batch.size() - inserted;
+        }
+        return new MovieImportResponse(imported, failed, errors);
+    }
+
+    // Parses and validates one NDJSON row; the poster must be an already uploaded file
+    private Movie toImportedMovie(String line) throws JsonProcessingException {
+        MovieDto movieDto = objectMapper.readValue(line, MovieDto.class);
+        requireText(movieDto.getTitle(), "title");
+        requireText(movieDto.getDirector(), "director");
+        requireText(movieDto.getStudio(), "studio");
+        requireText(movieDto.getPoster(), "poster");
+        requireMaxLength(movieDto.getTitle(), MAX_TITLE_LENGTH, "title");
+        requireMaxLength(movieDto.getDirector(), MAX_NAME_LENGTH, "director");
+        requireMaxLength(movieDto.getStudio(), MAX_NAME_LENGTH, "studio");
+        requireMaxLength(movieDto.getPoster(), MAX_NAME_LENGTH, "poster");
+        if (movieDto.getMovieCast() != null) {
+            for (String member : movieDto.getMovieCast()) {
+                requireText(member, "cast member");
+                requireMaxLength(member, MAX_NAME_LENGTH, "cast member");
+            }
+        }
+        if (movieDto.getReleaseYear() == null) {
+            throw new IllegalArgumentException("Please provide movie's releaseYear");
+        }
+        if (movieDto.getPoster().contains("/") || movieDto.getPoster().contains("\\")
+                || !Files.isRegularFile(Paths.get(path, movieDto.getPoster()))) {
+            throw new IllegalArgumentException("Poster not found: " + movieDto.getPoster());
+        }
+
+        Movie movie = new Movie();
+        movie.setTitle(movieDto.getTitle());
+        movie.setDirector(movieDto.getDirector());
+        movie.setStudio(movieDto.getStudio());
+        movie.setMovieCast(movieDto.getMovieCast() != null ? new HashSet<>(movieDto.getMovieCast()) : new HashSet<>());
+        movie.setReleaseYear(movieDto.getReleaseYear());
+        movie.setPoster(movieDto.getPoster());
+        movie.setPlaceholder(posterVariantService.createPlaceholder(path, movieDto.getPoster()));
+        return movie;
+    }
+
+    // Inserts one batch in its own transaction, returning the number of inserted movies. If the batch
+    // fails, its rows are retried one by one, so only the rows that cannot be inserted are reported
+    private int insertImportBatch(List<Movie> batch, List<Long> batchLines, List<ImportError> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // The whole batch becomes visible at one catalog version
+                catalogNameService.link(batch);
+                long changeVersion = catalogVersionService.next();
+                for (Movie movie : batch) {
+                    movie.setChangeVersion(changeVersion);
+                }
+                movieRepository.insertAll(batch);
+                for (Movie movie : batch) {
+                    eventPublisher.publishEvent(
+                            new MovieChangedEvent(ChangeType.CREATED, movie.getMovieId(), toMovieDto(movie),
+                                    changeVersion));
+                }
+            });
+            return batch.size();
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                addImportError(errors, batchLines.get(0), "Insert failed: " + e.getMessage());
+                return 0;
+            }
+            // The whole batch was rolled back; linking and insertAll reassign everything a retry needs
+            int inserted = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                inserted += insertImportBatch(List.of(batch.get(i)), List.of(batchLines.get(i)), errors);
+            }
+            return inserted;
+        }
+    }
+
+    // Helper method to reject a row with a value longer than its column
+    private void requireMaxLength(String value, int maxLength, String field) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException("Movie's " + field + " must be at most " + maxLength + " characters");
+        }
+    }
+
+    // Helper method to reject a row with a blank required field
+    private void requireText(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Please provide movie's " + field);
+        }
+    }
 
-        // 6. Return the Movie DTO with all relevant information
-        return new MovieDto(savedMovie.getMovieId(), savedMovie.getTitle(), savedMovie.getDirector(),
-                savedMovie.getStudio(), savedMovie.getMovieCast(), savedMovie.getReleaseYear(), savedMovie.getPoster(),
-                posterUrl);
+    // Helper method to record a row error, keeping the report bounded
+    private void addImportError(List<ImportError> errors, long line, String message) {
+        if (errors.size() < MAX_IMPORT_ERRORS) {
+            errors.add(new ImportError(line, message));
+        }
     }
 
     @Override
     public MovieDto getMovie(Integer movieId) {
-        // Retrieve the movie by ID, throwing an exception if not found
-        Movie movie = movieRepository.findById(movieId)
-                .orElseThrow(() -> new MovieNotFoundException("Movie not found with id = " + movieId));
-        
-        // Generate the poster URL
-        String posterUrl = baseUrl + "/file/" + movie.getPoster();
+        // Count the view once the movie was found; the counts are flushed in the background
+        MovieDto movie = findMovie(movieId);
+        movieViewCounter.record(movieId);
+        return movie;
+    }
+
+    // Helper method to look up one movie in the catalog store, the cache or the database
+    private MovieDto findMovie(Integer movieId) {
+        // The catalog store holds every movie once loaded, so a miss there is final
+        if (movieCatalogStore.isLoaded()) {
+            MovieDto stored = movieCatalogStore.get(movieId);
+            if (stored == null) {
+                throw new MovieNotFoundException("Movie not found with id = " + movieId);
+            }
+            return stored;
+        }
+
+        // Serve from the cache when possible, reloading entries close to expiry in the background
+        MovieDto cached = movieCache.get(movieId);
+        if (cached != null) {
+            if (movieCache.startRefresh(movieId)) {
+                refreshInBackground(movieId);
+            }
+            return cached;
+        }
+
+        try {
+            return loadMovie(movieId);
+        } catch (DataAccessException | TransactionException e) {
+            // The database is unavailable; fall back to an expired copy if one is retained
+            MovieDto stale = movieCache.getStale(movieId);
+            if (stale == null) {
+                throw e;
+            }
+            StaleReads.markCurrentRequest();
+            return stale;
+        }
+    }
+
+    // Helper method to load and cache one movie; concurrent loads of the same movie are shared
+    private MovieDto loadMovie(Integer movieId) {
+        return movieFlight.load(movieId, () -> readOnlyTransactionTemplate.execute(status -> {
+            // Retrieve the movie by ID, throwing an exception if not found
+            long generation = movieCache.generation();
+            MovieRow row = movieRepository.findRowById(movieId)
+                    .orElseThrow(() -> new MovieNotFoundException("Movie not found with id = " + movieId));
+
+            // Cache and return the Movie DTO
+            MovieDto movieDto = toMovieDtos(List.of(row)).get(0);
+            movieCache.putIfUnchanged(movieDto, generation);
+            return movieDto;
+        }));
+    }
+
+    // Helper method to reload a cached movie off the request thread
+    private void refreshInBackground(Integer movieId) {
+        try {
+            cacheRefreshTaskExecutor.execute(() -> {
+                try {
+                    loadMovie(movieId);
+                } catch (RuntimeException e) {
+                    log.debug("Background refresh of movie {} failed", movieId, e);
+                } finally {
+                    movieCache.finishRefresh(movieId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            movieCache.finishRefresh(movieId); // Retried by a later read
+        }
+    }
+
+    @Override
+    public MovieBatchResponse getMovies(List<Integer> movieIds) {
+        // Deduplicate while keeping the request order
+        Set<Integer> requestedIds = new LinkedHashSet<>(movieIds);
+        requestedIds.remove(null);
+        if (requestedIds.size() > AppConstants.MAX_BATCH_SIZE) {
+            throw new BatchLimitExceededException("At most " + AppConstants.MAX_BATCH_SIZE
+                    + " movies can be requested at once, got " + requestedIds.size());
+        }
+
+        // Serve store or cache hits directly and collect the misses; the loaded store has no misses
+        boolean fromStore = movieCatalogStore.isLoaded();
+        Map<Integer, MovieDto> found = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer movieId : requestedIds) {
+            MovieDto cached = fromStore ? movieCatalogStore.get(movieId) : movieCache.get(movieId);
+            if (cached != null) {
+                found.put(movieId, cached);
+            } else if (!fromStore) {
+                misses.add(movieId);
+            }
+        }
+
+        // Load all misses with one row query and one cast query
+        if (!misses.isEmpty()) {
+            try {
+                readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                    long generation = movieCache.generation();
+                    for (MovieDto movieDto : toMovieDtos(movieRepository.findRowsByMovieIdIn(misses))) {
+                        movieCache.putIfUnchanged(movieDto, generation);
+                        found.put(movieDto.getMovieId(), movieDto);
+                    }
+                });
+            } catch (DataAccessException | TransactionException e) {
+                // The database is unavailable; answer only if every miss has a retained copy
+                for (Integer movieId : misses) {
+                    MovieDto stale = movieCache.getStale(movieId);
+                    if (stale == null) {
+                        throw e;
+                    }
+                    found.put(movieId, stale);
+                }
+                StaleReads.markCurrentRequest();
+            }
+        }
 
-        // Return the Movie DTO
-        return new MovieDto(movie.getMovieId(), movie.getTitle(), movie.getDirector(), movie.getStudio(),
-                movie.getMovieCast(), movie.getReleaseYear(), movie.getPoster(), posterUrl);
+        // Return the movies in request order and report the missing IDs
+        List<MovieDto> movieDtos = new ArrayList<>();
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer movieId : requestedIds) {
+            MovieDto movieDto = found.get(movieId);
+            if (movieDto != null) {
+                movieDtos.add(movieDto);
+            } else {
+                missingIds.add(movieId);
+            }
+        }
+        return new MovieBatchResponse(movieDtos, missingIds);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MovieDto> getAllMovies() {
         List<MovieDto> movieDtos = new ArrayList<>();
-        // Fetch all movies from the repository
-        List<Movie> movies = movieRepository.findAll();
 
-        // Convert each Movie entity to Movie DTO
-        for (Movie movie : movies) {
-            String posterUrl = baseUrl + "/file/" + movie.getPoster();
-            movieDtos.add(new MovieDto(movie.getMovieId(), movie.getTitle(), movie.getDirector(), movie.getStudio(),
-                    movie.getMovieCast(), movie.getReleaseYear(), movie.getPoster(), posterUrl));
-        }
+        // Walk the catalog in keyset batches, so each cast query stays bounded
+        List<MovieDto> batch;
+        Integer lastId = 0;
+        do {
+            batch = getMoviesAfter(lastId, AppConstants.CATALOG_BATCH_SIZE);
+            movieDtos.addAll(batch);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getMovieId();
+            }
+        } while (batch.size() == AppConstants.CATALOG_BATCH_SIZE);
         return movieDtos;
     }
 
     @Override
+    @Transactional(rollbackFor = IOException.class)
     public MovieDto updateMovie(Integer movieId, MovieDto movieDto, MultipartFile file) throws IOException {
         // Retrieve the movie by ID
         Movie movie = movieRepository.findById(movieId)
@@ -118,10 +500,11 @@ public class MovieServiceImpl implements MovieService {
 
         String fileName = movie.getPoster(); // Store the current poster filename
         if (file != null) {
-            // If a new file is uploaded, delete the existing file
-            Files.deleteIfExists(Paths.get(path + File.separator + fileName));
-            // Upload the new file and get the new filename
+            // Upload the new file next to the existing one; readers keep seeing the old poster
             fileName = fileService.uploadFile(path, file);
+            movie.setPlaceholder(posterVariantService.createPlaceholder(path, fileName));
+            // The old file is deleted after commit, the new one after rollback
+            eventPublisher.publishEvent(new PosterReplacedEvent(movie.getPoster(), fileName));
         }
 
         // Update the Movie entity with new values
@@ -131,76 +514,370 @@ public class MovieServiceImpl implements MovieService {
         movie.setMovieCast(movieDto.getMovieCast());
         movie.setReleaseYear(movieDto.getReleaseYear());
         movie.setPoster(file != null ? fileName : movie.getPoster()); // Use new filename if uploaded
+        catalogNameService.link(List.of(movie));
+        movie.setChangeVersion(catalogVersionService.next());
 
         // Save the updated movie entity
         Movie updatedMovie = movieRepository.save(movie);
-        String posterUrl = baseUrl + "/file/" + updatedMovie.getPoster();
 
-        // Return the updated Movie DTO
-        return new MovieDto(updatedMovie.getMovieId(), updatedMovie.getTitle(), updatedMovie.getDirector(),
-                updatedMovie.getStudio(), updatedMovie.getMovieCast(), updatedMovie.getReleaseYear(),
-                updatedMovie.getPoster(), posterUrl);
+        // Return the updated Movie DTO, notifying the indexes
+        MovieDto updatedMovieDto = toMovieDto(updatedMovie);
+        eventPublisher.publishEvent(new MovieChangedEvent(ChangeType.UPDATED, movieId, updatedMovieDto,
+                updatedMovie.getChangeVersion()));
+        return updatedMovieDto;
     }
 
     @Override
+    @Transactional(rollbackFor = IOException.class)
     public String deleteMovie(Integer movieId) throws IOException {
         // Retrieve the movie by ID
         Movie movie = movieRepository.findById(movieId)
                 .orElseThrow(() -> new MovieNotFoundException("Movie not found with id = " + movieId));
 
-        // Delete the file associated with the movie
-        Files.deleteIfExists(Paths.get(path + File.separator + movie.getPoster()));
-
-        // Delete the movie entity from the repository
+        // Delete the movie entity from the repository, leaving a tombstone for syncing clients
         movieRepository.delete(movie);
+        long changeVersion = catalogVersionService.next();
+        movieTombstoneRepository.save(new MovieTombstone(movieId, changeVersion, Instant.now()));
+
+        // Delete the file associated with the movie once the delete has committed
+        eventPublisher.publishEvent(new PosterReplacedEvent(movie.getPoster(), null));
+        eventPublisher.publishEvent(new MovieChangedEvent(ChangeType.DELETED, movieId, null, changeVersion));
         return "Movie deleted with id = " + movie.getMovieId();
     }
 
     @Override
-    public MoviePageResponse getAllMoviesWithPagination(Integer pageNumber, Integer pageSize) {
+    public MoviePageResponse getAllMoviesWithPagination(Integer pageNumber, Integer pageSize, MovieFilter filter,
+            boolean withTotals) {
         // Create a pageable object for pagination
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        Page<Movie> moviePages = movieRepository.findAll(pageable);
-        List<MovieDto> movieDtos = new ArrayList<>();
-        List<Movie> movies = moviePages.getContent();
 
-        // Convert each Movie entity to Movie DTO
-        for (Movie movie : movies) {
-            String posterUrl = baseUrl + "/file/" + movie.getPoster();
-            movieDtos.add(new MovieDto(movie.getMovieId(), movie.getTitle(), movie.getDirector(), movie.getStudio(),
-                    movie.getMovieCast(), movie.getReleaseYear(), movie.getPoster(), posterUrl));
-        }
         // Return the paginated response
-        return new MoviePageResponse(movieDtos, pageNumber, pageSize,
-                moviePages.getTotalElements(), moviePages.getTotalPages(), moviePages.isLast());
+        return loadPage(pageable, filter, withTotals);
     }
 
     @Override
     public MoviePageResponse getAllMoviesWithPaginationAndSorting(Integer pageNumber, Integer pageSize, String sortBy,
-            String direction) {
+            String direction, MovieFilter filter, boolean withTotals) {
         // Define allowed sort fields for validation
-        List<String> allowedSortFields = Arrays.asList("title", "director", "studio", "releaseYear");
+        List<String> allowedSortFields = Arrays.asList("movieId", "title", "director", "studio", "releaseYear",
+                "popularity");
 
         // Validate the sort field
         if (!allowedSortFields.contains(sortBy)) {
             throw new InvalidSortFieldException("Invalid sort field: " + sortBy + ". Allowed fields are: " + allowedSortFields);
         }
 
-        // Create sorting and pageable objects
+        // Create sorting and pageable objects; many movies share a popularity, so ties are ordered by ID
         Sort sort = direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        if (sortBy.equals("popularity")) {
+            sort = sort.and(Sort.by(sort.getOrderFor(sortBy).getDirection(), "movieId"));
+        }
         Pageable pageable = PageRequest.of(pageNumber, pageSize, sort);
-        List<MovieDto> movieDtos = new ArrayList<>();
-        Page<Movie> moviePages = movieRepository.findAll(pageable);
-        List<Movie> movies = moviePages.getContent();
 
-        // Convert each Movie entity to Movie DTO
-        for (Movie movie : movies) {
-            String posterUrl = baseUrl + "/file/" + movie.getPoster();
-            movieDtos.add(new MovieDto(movie.getMovieId(), movie.getTitle(), movie.getDirector(), movie.getStudio(),
-                    movie.getMovieCast(), movie.getReleaseYear(), movie.getPoster(), posterUrl));
-        }
         // Return the paginated and sorted response
-        return new MoviePageResponse(movieDtos, pageNumber, pageSize,
-                moviePages.getTotalElements(), moviePages.getTotalPages(), moviePages.isLast());
+        return loadPage(pageable, filter, withTotals);
+    }
+
+    @Override
+    public List<MovieDto> getMoviesAfter(Integer movieId, Integer limit) {
+        // Always read the database: callers build derived state (the indexes, the catalog snapshot)
+        // that must not lag behind the catalog store, which is itself only updated after each commit
+        return readOnlyTransactionTemplate.execute(
+                status -> toMovieDtos(movieRepository.findRowsAfter(movieId, PageRequest.of(0, limit))));
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersionService.current();
+    }
+
+    @Override
+    public void writeChanges(Long sinceVersion, Long untilVersion, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Pageable batchSize = PageRequest.of(0, AppConstants.CATALOG_BATCH_SIZE);
+
+        // 1. Stream inserted and updated movies in version order, one keyset batch at a time
+        Long lastVersion = sinceVersion;
+        Integer lastId = Integer.MAX_VALUE; // Excludes movies at exactly sinceVersion
+        List<MovieVersion> versions;
+        do {
+            versions = movieRepository.findChangesAfter(lastVersion, lastId, untilVersion, batchSize);
+            if (versions.isEmpty()) {
+                break;
+            }
+            Map<Integer, MovieDto> movies = toMovieDtos(movieRepository.findRowsByMovieIdIn(
+                    versions.stream().map(MovieVersion::movieId).toList())).stream()
+                    .collect(Collectors.toMap(MovieDto::getMovieId, Function.identity()));
+            for (MovieVersion version : versions) {
+                MovieDto movie = movies.get(version.movieId());
+                if (movie != null) { // Deleted since; its tombstone follows in a later sync
+                    writeChange(generator, new MovieChange(MovieChange.Type.UPSERT, version.changeVersion(),
+                            version.movieId(), movie));
+                }
+            }
+            generator.flush();
+
+            MovieVersion last = versions.get(versions.size() - 1);
+            lastVersion = last.changeVersion();
+            lastId = last.movieId();
+        } while (versions.size() == AppConstants.CATALOG_BATCH_SIZE);
+
+        // 2. Stream the deletes
+        lastVersion = sinceVersion;
+        lastId = Integer.MAX_VALUE;
+        List<MovieTombstone> tombstones;
+        do {
+            tombstones = movieTombstoneRepository.findChangesAfter(lastVersion, lastId, untilVersion, batchSize);
+            for (MovieTombstone tombstone : tombstones) {
+                writeChange(generator, new MovieChange(MovieChange.Type.DELETE, tombstone.getChangeVersion(),
+                        tombstone.getMovieId(), null));
+            }
+            generator.flush();
+
+            if (!tombstones.isEmpty()) {
+                MovieTombstone last = tombstones.get(tombstones.size() - 1);
+                lastVersion = last.getChangeVersion();
+                lastId = last.getMovieId();
+            }
+        } while (tombstones.size() == AppConstants.CATALOG_BATCH_SIZE);
+
+        generator.close();
+    }
+
+    // Helper method to write one change as a line of newline-delimited JSON
+    private void writeChange(JsonGenerator generator, MovieChange change) throws IOException {
+        objectMapper.writeValue(generator, change);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovieDto> searchMovies(String query, Integer limit) {
+        // Rank the matches in memory, then load only the movies being returned
+        List<Integer> movieIds = movieSearchIndex.search(query, Math.min(limit, AppConstants.MAX_BATCH_SIZE));
+        if (movieIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, MovieDto> movies = toMovieDtos(movieRepository.findRowsByMovieIdIn(movieIds)).stream()
+                .collect(Collectors.toMap(MovieDto::getMovieId, Function.identity()));
+
+        // Keep the ranking order; movies deleted since indexing are skipped
+        return movieIds.stream()
+                .map(movies::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<MovieSuggestion> suggestMovies(String prefix, Integer limit) {
+        // Served entirely from memory; never touches the database
+        return movieSuggestIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    public List<MovieDto> getSimilarMovies(Integer movieId, Integer limit) {
+        // Score in memory, then resolve only the movies being returned
+        List<Integer> movieIds = movieSimilarityIndex.similar(movieId, Math.min(limit, AppConstants.MAX_BATCH_SIZE));
+        if (movieIds.isEmpty()) {
+            // Unknown movies are reported as such rather than as having no similar movies
+            if (!movieRepository.existsById(movieId)) {
+                throw new MovieNotFoundException("Movie not found with id = " + movieId);
+            }
+            return List.of();
+        }
+
+        // getMovies keeps the ranking order; movies deleted since indexing are skipped
+        return getMovies(movieIds).movieDtos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MovieFacetsResponse getMovieFacets(MovieFilter filter, Integer yearBucket, Integer limit) {
+        Map<?, Long> studios;
+        Map<?, Long> directors;
+        Map<?, Long> releaseYears;
+
+        boolean linked = catalogNameService.isLinked();
+        if ((filter == null || filter.isEmpty()) && movieFacetIndex.isLoaded()) {
+            // Unfiltered facets come from the in-memory counters
+            studios = movieFacetIndex.getStudioCounts();
+            directors = movieFacetIndex.getDirectorCounts();
+            releaseYears = movieFacetIndex.getReleaseYearCounts();
+        } else {
+            // Filtered facets (and facets requested before the counters are loaded) use grouped queries
+            // Once all movies are linked, group on the integer keys and resolve the names afterwards
+            Specification<Movie> specification = filter == null || filter.isEmpty()
+                    ? null : MovieSpecifications.matching(filter, linked);
+            studios = linked
+                    ? namedCounts(movieRepository.countGroupedBy("studioId", specification),
+                            catalogNameService::studioNames)
+                    : movieRepository.countGroupedBy("studio", specification);
+            directors = linked
+                    ? namedCounts(movieRepository.countGroupedBy("directorId", specification),
+                            catalogNameService::personNames)
+                    : movieRepository.countGroupedBy("director", specification);
+            releaseYears = movieRepository.countGroupedBy("releaseYear", specification);
+        }
+
+        return new MovieFacetsResponse(topCounts(studios, limit), topCounts(directors, limit),
+                topCounts(bucketYears(releaseYears, Math.max(1, yearBucket)), limit));
+    }
+
+    // Helper method to replace the IDs counted by a grouped query with their names
+    private Map<String, Long> namedCounts(Map<Object, Long> counts,
+            Function<Collection<Integer>, Map<Integer, String>> names) {
+        Map<Integer, String> resolved = names.apply(counts.keySet().stream()
+                .filter(Objects::nonNull).map(Integer.class::cast).toList());
+        Map<String, Long> named = new HashMap<>();
+        for (Map.Entry<Object, Long> entry : counts.entrySet()) {
+            String name = resolved.get(entry.getKey());
+            if (name != null) {
+                named.merge(name, entry.getValue(), Long::sum);
+            }
+        }
+        return named;
+    }
+
+    // Helper method to merge per-year counts into buckets of the given size, labelled "1990-1999"
+    private Map<String, Long> bucketYears(Map<?, Long> releaseYears, int yearBucket) {
+        Map<String, Long> buckets = new HashMap<>();
+        for (Map.Entry<?, Long> entry : releaseYears.entrySet()) {
+            int year = (Integer) entry.getKey();
+            int start = Math.floorDiv(year, yearBucket) * yearBucket;
+            String label = yearBucket == 1 ? String.valueOf(start) : start + "-" + (start + yearBucket - 1);
+            buckets.merge(label, entry.getValue(), Long::sum);
+        }
+        return buckets;
+    }
+
+    // Helper method to keep the highest counts, ordered by descending count; the limit is clamped to 0..MAX_BATCH_SIZE
+    private Map<String, Long> topCounts(Map<?, Long> counts, int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .filter(entry -> entry.getKey() != null)
+                .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+                .limit(Math.max(0, Math.min(limit, AppConstants.MAX_BATCH_SIZE)))
+                .forEach(entry -> top.put(entry.getKey().toString(), entry.getValue()));
+        return top;
+    }
+
+    // Helper method to run the paged query, adding the filter predicates only when a filter is set
+    private Slice<MovieRow> findMovies(MovieFilter filter, Pageable pageable) {
+        if (filter == null || filter.isEmpty()) {
+            return movieRepository.findRows(null, pageable);
+        }
+        return movieRepository.findRows(MovieSpecifications.matching(filter, catalogNameService.isLinked()), pageable);
+    }
+
+    // Helper method to load a page; identical concurrent requests share one load and one transaction
+    private MoviePageResponse loadPage(Pageable pageable, MovieFilter filter, boolean withTotals) {
+        boolean unfiltered = filter == null || filter.isEmpty();
+        if (unfiltered && movieCatalogStore.isLoaded() && isMovieIdOrder(pageable.getSort())) {
+            return loadStorePage(pageable, withTotals);
+        }
+        return pageFlight.load(new PageKey(pageable, filter, withTotals), () -> readOnlyTransactionTemplate.execute(
+                status -> toPageResponse(findMovies(filter, pageable), filter, withTotals)));
+    }
+
+    // Helper method to check whether a sort is by movie ID only; unsorted pages are listed in ID order too
+    private boolean isMovieIdOrder(Sort sort) {
+        return sort.isUnsorted() || (sort.getOrderFor("movieId") != null && sort.stream().count() == 1);
+    }
+
+    // Helper method to serve an unfiltered page ordered by movie ID from the catalog store
+    private MoviePageResponse loadStorePage(Pageable pageable, boolean withTotals) {
+        Sort.Order order = pageable.getSort().getOrderFor("movieId");
+        int size = movieCatalogStore.size();
+        List<MovieDto> movieDtos = movieCatalogStore.getPage(pageable.getOffset(), pageable.getPageSize(),
+                order == null || order.isAscending());
+
+        Long totalElements = withTotals ? (long) size : null;
+        Integer totalPages = withTotals ? (size + pageable.getPageSize() - 1) / pageable.getPageSize() : null;
+        return new MoviePageResponse(movieDtos, pageable.getPageNumber(), pageable.getPageSize(), totalElements,
+                totalPages, pageable.getOffset() + movieDtos.size() >= size);
+    }
+
+    // Helper method to build a page response; totals come from the cached count unless a filter is set
+    private MoviePageResponse toPageResponse(Slice<MovieRow> movieSlice, MovieFilter filter, boolean withTotals) {
+        List<MovieDto> movieDtos = toMovieDtos(movieSlice.getContent());
+        int pageSize = movieSlice.getSize();
+
+        Long totalElements = null;
+        Integer totalPages = null;
+        if (withTotals) {
+            totalElements = filter == null || filter.isEmpty() ? movieCountCache.count()
+                    : movieRepository.countRows(MovieSpecifications.matching(filter, catalogNameService.isLinked()));
+            totalPages = (int) ((totalElements + pageSize - 1) / pageSize);
+        }
+        return new MoviePageResponse(movieDtos, movieSlice.getNumber(), pageSize, totalElements, totalPages,
+                movieSlice.isLast());
+    }
+
+    // Helper method to map movie rows to Movie DTOs, loading the cast of all rows in one query and
+    // resolving all referenced names with one lookup per table; names are interned and each cast
+    // becomes a compact immutable set, as the DTOs may be cached
+    private List<MovieDto> toMovieDtos(List<MovieRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        // 1. Linked movies reference people and studios; the others still carry their names
+        List<Integer> linkedIds = new ArrayList<>();
+        List<Integer> unlinkedIds = new ArrayList<>();
+        Set<Integer> personIds = new HashSet<>();
+        Set<Integer> studioIds = new HashSet<>();
+        for (MovieRow row : rows) {
+            if (row.directorId() != null) {
+                linkedIds.add(row.movieId());
+                personIds.add(row.directorId());
+                studioIds.add(row.studioId());
+            } else {
+                unlinkedIds.add(row.movieId());
+            }
+        }
+        Map<Integer, List<Integer>> castIds = movieRepository.findCastIdsByMovieIds(linkedIds);
+        Map<Integer, Set<String>> castNames = movieRepository.findCastByMovieIds(unlinkedIds);
+        castIds.values().forEach(personIds::addAll);
+
+        // 2. Resolve the names of all referenced people and studios
+        Map<Integer, String> personNames = catalogNameService.personNames(personIds);
+        Map<Integer, String> studioNames = catalogNameService.studioNames(studioIds);
+
+        List<MovieDto> movieDtos = new ArrayList<>(rows.size());
+        for (MovieRow row : rows) {
+            String posterUrl = baseUrl + "/file/" + row.poster();
+            String director;
+            String studio;
+            Set<String> cast;
+            if (row.directorId() != null) {
+                director = personNames.get(row.directorId());
+                studio = studioNames.get(row.studioId());
+                cast = CompactStringSet.copyOf(castIds.getOrDefault(row.movieId(), List.of()).stream()
+                        .map(personNames::get).toList());
+            } else {
+                director = nameInterner.intern(row.director());
+                studio = nameInterner.intern(row.studio());
+                cast = nameInterner.internAll(castNames.get(row.movieId()));
+            }
+            movieDtos.add(new MovieDto(row.movieId(), row.title(), director, studio, cast, row.releaseYear(),
+                    row.poster(), posterUrl, row.placeholder()));
+        }
+        return movieDtos;
+    }
+
+    // Helper method to map a Movie entity to a Movie DTO, including its poster URL; the cast is copied
+    // so the DTO does not keep the entity's collection reachable from the indexes and caches
+    private MovieDto toMovieDto(Movie movie) {
+        String posterUrl = baseUrl + "/file/" + movie.getPoster();
+        return new MovieDto(movie.getMovieId(), movie.getTitle(), nameInterner.intern(movie.getDirector()),
+                nameInterner.intern(movie.getStudio()), nameInterner.internAll(movie.getMovieCast()),
+                movie.getReleaseYear(), movie.getPoster(), posterUrl, movie.getPlaceholder());
+    }
+
+    /**
+     * Identifies a paged listing request for coalescing.
+     */
+    private record PageKey(Pageable pageable, MovieFilter filter, boolean withTotals) {
     }
 }
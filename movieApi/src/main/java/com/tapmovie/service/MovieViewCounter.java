@@ -0,0 +1,118 @@
+package com.tapmovie.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tapmovie.event.MovieChangedEvent;
+import com.tapmovie.repositories.MovieRepository;
+
+/**
+ * Counts movie views in memory and periodically adds them to the popularity
+ * column, so a view never writes to the database on the request thread.
+ *
+ * Each movie has a LongAdder, which spreads concurrent increments over striped
+ * cells instead of contending on one value. A flush reads every counter and
+ * writes the views added since the previous successful flush in one JDBC batch
+ * and transaction, so a failed flush writes nothing; counters are never reset, so views recorded during a flush are not lost but
+ * written by the next one. Writes are increments, so several instances can
+ * flush into the same rows.
+ */
+@Service
+public class MovieViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieViewCounter.class);
+
+    private final MovieRepository movieRepository;
+
+    private final Map<Integer, ViewCount> counts = new ConcurrentHashMap<>();
+
+    @Value("${project.popularity.enabled:true}")
+    private boolean enabled;
+
+    public MovieViewCounter(MovieRepository movieRepository) {
+        this.movieRepository = movieRepository;
+    }
+
+    /**
+     * Records one view of a movie.
+     *
+     * @param movieId the ID of the viewed movie
+     */
+    public void record(Integer movieId) {
+        if (enabled) {
+            counts.computeIfAbsent(movieId, id -> new ViewCount()).views.increment();
+        }
+    }
+
+    /**
+     * Writes the views recorded since the last flush. Scheduled with a fixed delay,
+     * so flushes never overlap.
+     */
+    @Scheduled(initialDelayString = "${project.popularity.flush-interval:PT30S}",
+            fixedDelayString = "${project.popularity.flush-interval:PT30S}")
+    public synchronized void flush() {
+        Map<Integer, Long> views = new HashMap<>();
+        Map<ViewCount, Long> totals = new HashMap<>();
+        for (Map.Entry<Integer, ViewCount> entry : counts.entrySet()) {
+            ViewCount count = entry.getValue();
+            long total = count.views.sum();
+            if (total > count.flushed) {
+                views.put(entry.getKey(), total - count.flushed);
+                totals.put(count, total);
+            }
+        }
+        if (views.isEmpty()) {
+            return;
+        }
+
+        try {
+            movieRepository.addPopularity(views);
+        } catch (RuntimeException e) {
+            log.warn("Could not flush views of {} movies; retrying with the next flush", views.size(), e);
+            return;
+        }
+        // Only a successful write advances the flushed totals
+        totals.forEach((count, total) -> count.flushed = total);
+        log.debug("Flushed views of {} movies", views.size());
+    }
+
+    /**
+     * Writes the remaining views before the application shuts down.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Drops the counter of a deleted movie.
+     *
+     * @param event the movie change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.type() == MovieChangedEvent.ChangeType.DELETED) {
+            counts.remove(event.movieId());
+        }
+    }
+
+    /**
+     * Views of one movie: all recorded, and the part already written.
+     */
+    private static final class ViewCount {
+        private final LongAdder views = new LongAdder();
+        private long flushed; // Guarded by the flush lock
+    }
+}
@@ -0,0 +1,78 @@
+package com.tapmovie.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.tapmovie.event.PosterReplacedEvent;
+import com.tapmovie.repositories.MovieRepository;
+
+/**
+ * Deletes poster files once the transaction that stopped referencing them completes.
+ * Deletion runs on the poster executor, off the request latency path. Files missed
+ * here (e.g. on a crash) are picked up by the {@link PosterGarbageCollector}.
+ *
+ * Imports may point several movies at one existing poster file, so a poster is
+ * only deleted once no movie references it any more.
+ */
+@Component
+public class PosterCleanupListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PosterCleanupListener.class);
+
+    private final FileService fileService;
+    private final MovieRepository movieRepository;
+
+    @Value("${project.poster}")
+    private String path;
+
+    public PosterCleanupListener(FileService fileService, MovieRepository movieRepository) {
+        this.fileService = fileService;
+        this.movieRepository = movieRepository;
+    }
+
+    /**
+     * Deletes the replaced poster after the movie write has committed.
+     *
+     * @param event the poster replacement event
+     */
+    @Async("posterTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommit(PosterReplacedEvent event) {
+        deleteQuietly(event.previousPoster());
+    }
+
+    /**
+     * Deletes the newly uploaded poster after the movie write has rolled back.
+     *
+     * @param event the poster replacement event
+     */
+    @Async("posterTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onRollback(PosterReplacedEvent event) {
+        deleteQuietly(event.currentPoster());
+    }
+
+    // Helper method to delete a poster no movie references, logging instead of propagating failures
+    private void deleteQuietly(String fileName) {
+        if (fileName == null) {
+            return;
+        }
+        if (!movieRepository.findReferencedPosters(List.of(fileName)).isEmpty()) {
+            log.debug("Keeping poster {}, which another movie still references", fileName);
+            return;
+        }
+        try {
+            fileService.deleteFile(path, fileName);
+        } catch (IOException e) {
+            log.warn("Could not delete poster {}", fileName, e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.tapmovie.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tapmovie.dto.PosterReference;
+import com.tapmovie.repositories.MovieRepository;
+
+/**
+ * Background job reconciling the poster directory with the Movie.poster column.
+ * Poster files no movie references are deleted once they are older than the grace
+ * period, and movies referencing a missing poster file are reported. Only files
+ * named by the uploader are ever deleted, so other files kept in the directory
+ * survive.
+ *
+ * The directory is listed in its own (unsorted) order in bounded batches, each
+ * batch checked against the poster column with one IN query; the poster column is
+ * walked in sorted keyset batches to find dangling references. Memory use does not
+ * grow with the size of the catalog, and the number of deletions per run is capped.
+ */
+@Service
+public class PosterGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(PosterGarbageCollector.class);
+
+    // Sub-directories holding the poster variants (w200, w400, ...)
+    private static final String VARIANT_DIRECTORY_PATTERN = "w[0-9]*";
+
+    // File names produced by FileServiceImpl.uploadFile: a random UUID, an underscore and the original name
+    private static final Pattern UPLOADED_FILE_NAME =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+");
+
+    // Temporary files left behind by an interrupted variant write
+    private static final Pattern VARIANT_TEMP_FILE_NAME = Pattern.compile("\\.variant-.*\\.tmp");
+
+    private final MovieRepository movieRepository;
+    private final FileService fileService;
+    private final PosterMetadataService posterMetadataService;
+
+    @Value("${project.poster}")
+    private String path;
+
+    @Value("${project.poster-gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${project.poster-gc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${project.poster-gc.grace-period:PT24H}")
+    private Duration gracePeriod;
+
+    @Value("${project.poster-gc.max-deletes-per-run:1000}")
+    private int maxDeletesPerRun;
+
+    @Value("${project.poster-gc.batch-pause:PT0.2S}")
+    private Duration batchPause;
+
+    public PosterGarbageCollector(MovieRepository movieRepository, FileService fileService,
+                                  PosterMetadataService posterMetadataService) {
+        this.movieRepository = movieRepository;
+        this.fileService = fileService;
+        this.posterMetadataService = posterMetadataService;
+    }
+
+    /**
+     * Runs one reconciliation pass. Scheduled with a fixed delay, so runs never overlap.
+     */
+    @Scheduled(initialDelayString = "${project.poster-gc.initial-delay:PT5M}",
+            fixedDelayString = "${project.poster-gc.interval:PT1H}")
+    public void collect() {
+        if (!enabled || !Files.isDirectory(Paths.get(path))) {
+            return;
+        }
+
+        try {
+            Instant cutoff = Instant.now().minus(gracePeriod);
+            int deleted = deleteOrphanedPosters(cutoff);
+            deleted += deleteOrphanedVariants(cutoff, maxDeletesPerRun - deleted);
+            int dangling = reportDanglingReferences();
+            log.info("Poster GC finished: {} orphaned files deleted, {} dangling references", deleted, dangling);
+        } catch (IOException e) {
+            log.warn("Poster GC aborted", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Deletes uploaded posters that are not referenced by any movie
+    private int deleteOrphanedPosters(Instant cutoff) throws IOException, InterruptedException {
+        int deleted = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(path))) {
+            for (Path file : files) {
+                if (deleted >= maxDeletesPerRun) {
+                    break;
+                }
+                String fileName = file.getFileName().toString();
+                if (UPLOADED_FILE_NAME.matcher(fileName).matches() && Files.isRegularFile(file)) {
+                    batch.add(fileName);
+                }
+                if (batch.size() == batchSize) {
+                    deleted += deleteUnreferenced(batch, cutoff, maxDeletesPerRun - deleted);
+                    batch.clear();
+                    Thread.sleep(batchPause.toMillis());
+                }
+            }
+        }
+        if (!batch.isEmpty() && deleted < maxDeletesPerRun) {
+            deleted += deleteUnreferenced(batch, cutoff, maxDeletesPerRun - deleted);
+        }
+        return deleted;
+    }
+
+    // Deletes the unreferenced posters of one batch that are older than the cutoff
+    private int deleteUnreferenced(List<String> batch, Instant cutoff, int limit) throws IOException {
+        Set<String> referenced = new HashSet<>(movieRepository.findReferencedPosters(batch));
+
+        int deleted = 0;
+        for (String fileName : batch) {
+            if (deleted >= limit) {
+                break;
+            }
+            if (!referenced.contains(fileName) && isOlderThan(Paths.get(path, fileName), cutoff)) {
+                fileService.deleteFile(path, fileName);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    // Deletes variants whose original poster no longer exists, and leftover temporary files
+    private int deleteOrphanedVariants(Instant cutoff, int limit) throws IOException {
+        int deleted = 0;
+
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(Paths.get(path), VARIANT_DIRECTORY_PATTERN)) {
+            for (Path directory : directories) {
+                if (!Files.isDirectory(directory)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> variants = Files.newDirectoryStream(directory)) {
+                    for (Path variant : variants) {
+                        if (deleted >= limit) {
+                            return deleted;
+                        }
+                        String fileName = variant.getFileName().toString();
+                        boolean collectable = UPLOADED_FILE_NAME.matcher(fileName).matches()
+                                || VARIANT_TEMP_FILE_NAME.matcher(fileName).matches();
+                        if (collectable && !Files.exists(Paths.get(path, fileName)) && isOlderThan(variant, cutoff)) {
+                            Files.deleteIfExists(variant);
+                            posterMetadataService.remove(directory.getFileName() + "/" + fileName);
+                            deleted++;
+                        }
+                    }
+                }
+            }
+        }
+        return deleted;
+    }
+
+    // Walks the poster column in sorted keyset batches and reports posters missing on disk
+    private int reportDanglingReferences() throws InterruptedException {
+        int dangling = 0;
+        String lastPoster = "";
+        Integer lastMovieId = 0;
+
+        List<PosterReference> batch;
+        do {
+            batch = movieRepository.findPosterReferencesAfter(lastPoster, lastMovieId,
+                    PageRequest.of(0, batchSize));
+            for (PosterReference reference : batch) {
+                if (!Files.exists(Paths.get(path, reference.poster()))) {
+                    log.warn("Movie {} references missing poster {}", reference.movieId(), reference.poster());
+                    dangling++;
+                }
+            }
+            if (!batch.isEmpty()) {
+                lastPoster = batch.get(batch.size() - 1).poster();
+                lastMovieId = batch.get(batch.size() - 1).movieId();
+                Thread.sleep(batchPause.toMillis());
+            }
+        } while (batch.size() == batchSize);
+
+        return dangling;
+    }
+
+    // Helper method to check a file's age against the grace period cutoff
+    private boolean isOlderThan(Path file, Instant cutoff) throws IOException {
+        return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+    }
+}
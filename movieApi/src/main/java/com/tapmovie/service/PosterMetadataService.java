@@ -0,0 +1,100 @@
+package com.tapmovie.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tapmovie.entity.PosterFile;
+import com.tapmovie.repositories.PosterFileRepository;
+
+/**
+ * Service managing the persisted metadata (media type and size) of poster files.
+ * Lookups are served from a bounded in-memory LRU cache, which also remembers
+ * files without metadata so repeated misses do not reach the database.
+ */
+@Service
+public class PosterMetadataService {
+
+    private final PosterFileRepository posterFileRepository;
+
+    // LRU cache of metadata lookups; an empty Optional records a known miss
+    private final Map<String, Optional<PosterFile>> cache;
+
+    public PosterMetadataService(PosterFileRepository posterFileRepository,
+                                 @Value("${project.poster-metadata.cache-size:10000}") int cacheSize) {
+        this.posterFileRepository = posterFileRepository;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<PosterFile>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Records the metadata of a newly stored poster file.
+     *
+     * @param fileName  the file path relative to the poster directory
+     * @param mediaType the media type detected from the file content
+     * @param fileSize  the size of the file in bytes
+     * @return the persisted metadata
+     */
+    public PosterFile record(String fileName, String mediaType, long fileSize) {
+        PosterFile posterFile = posterFileRepository.save(new PosterFile(fileName, mediaType, fileSize, Instant.now()));
+        cache.put(fileName, Optional.of(posterFile));
+        return posterFile;
+    }
+
+    /**
+     * Looks up the metadata of a poster file.
+     *
+     * @param fileName the file path relative to the poster directory
+     * @return the metadata, or an empty Optional if none was recorded
+     */
+    public Optional<PosterFile> find(String fileName) {
+        Optional<PosterFile> cached = cache.get(fileName);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<PosterFile> loaded = posterFileRepository.findById(fileName);
+        cache.put(fileName, loaded);
+        return loaded;
+    }
+
+    /**
+     * Loads the metadata of many poster files into the cache with one query,
+     * recording misses as well.
+     *
+     * @param fileNames the file paths relative to the poster directory
+     */
+    public void preload(Collection<String> fileNames) {
+        Set<String> missing = new HashSet<>(fileNames);
+        for (PosterFile posterFile : posterFileRepository.findAllById(fileNames)) {
+            cache.put(posterFile.getFileName(), Optional.of(posterFile));
+            missing.remove(posterFile.getFileName());
+        }
+        for (String fileName : missing) {
+            cache.put(fileName, Optional.empty());
+        }
+    }
+
+    /**
+     * Removes the metadata of a deleted poster file.
+     *
+     * @param fileName the file path relative to the poster directory
+     */
+    public void remove(String fileName) {
+        cache.remove(fileName);
+        posterFileRepository.deleteById(fileName);
+    }
+}
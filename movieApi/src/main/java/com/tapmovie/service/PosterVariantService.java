@@ -0,0 +1,293 @@
+package com.tapmovie.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service responsible for generating and resolving downscaled poster variants.
+ * Variants are stored next to the original poster in one sub-directory per width
+ * (e.g. {@code w200/<fileName>}) and keep the original file name and the format
+ * detected from the poster's content, whatever its file extension.
+ * Their metadata is recorded like any other poster file, so resolving a variant
+ * never has to probe the file system.
+ */
+@Service
+public class PosterVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(PosterVariantService.class);
+
+    private final PosterMetadataService posterMetadataService;
+
+    // Widths (in pixels) of the variants generated for every uploaded poster
+    private final int[] widths;
+
+    // JPEG compression quality used when writing JPEG variants
+    private final float jpegQuality;
+
+    // Width (in pixels) of the inline placeholder embedded in movie responses
+    private final int placeholderWidth;
+
+    public PosterVariantService(PosterMetadataService posterMetadataService,
+                                @Value("${project.poster-variants.widths:200,400,800}") int[] widths,
+                                @Value("${project.poster-variants.jpeg-quality:0.8}") float jpegQuality,
+                                @Value("${project.poster-variants.placeholder-width:16}") int placeholderWidth) {
+        this.posterMetadataService = posterMetadataService;
+        this.widths = widths.clone();
+        Arrays.sort(this.widths);
+        this.jpegQuality = jpegQuality;
+        this.placeholderWidth = placeholderWidth;
+    }
+
+    /**
+     * Asynchronously generates all configured variants for the given poster.
+     * Failures are logged and ignored, since the original poster remains servable.
+     *
+     * @param path      the poster directory
+     * @param fileName  the name of the original poster
+     * @param mediaType the media type detected from the poster's content
+     */
+    @Async("posterTaskExecutor")
+    public void generateVariants(String path, String fileName, String mediaType) {
+        String format = getVariantFormat(mediaType);
+        if (format == null) {
+            return; // Only JPEG and PNG posters get variants
+        }
+
+        try {
+            BufferedImage original = ImageIO.read(Paths.get(path, fileName).toFile());
+            if (original == null) {
+                return; // Not a decodable image
+            }
+
+            for (int width : widths) {
+                // Never upscale: larger requests fall back to the original
+                if (width >= original.getWidth()) {
+                    break;
+                }
+                BufferedImage scaled = scaleToWidth(original, width, "jpg".equals(format));
+                Path variantPath = getVariantPath(path, fileName, width);
+                writeAtomically(scaled, format, variantPath);
+                posterMetadataService.record(getVariantName(fileName, width),
+                        "jpg".equals(format) ? MediaType.IMAGE_JPEG_VALUE : MediaType.IMAGE_PNG_VALUE,
+                        Files.size(variantPath));
+            }
+        } catch (IOException e) {
+            log.warn("Could not generate variants for poster {}", fileName, e);
+        }
+    }
+
+    /**
+     * Creates a low-quality placeholder for the given poster as a data URI of a
+     * few hundred bytes, which clients can render before the poster arrives. PNG
+     * posters get a PNG placeholder, keeping their transparency; all others a JPEG.
+     *
+     * @param path     the poster directory
+     * @param fileName the name of the original poster
+     * @return the placeholder data URI, or null if the poster cannot be decoded
+     */
+    public String createPlaceholder(String path, String fileName) {
+        try {
+            BufferedImage original = ImageIO.read(Paths.get(path, fileName).toFile());
+            if (original == null) {
+                return null; // Not a decodable image
+            }
+
+            int width = Math.min(placeholderWidth, original.getWidth());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            if ("png".equals(getPosterFormat(fileName))) {
+                ImageIO.write(scaleToWidth(original, width, false), "png", bytes);
+                return "data:image/png;base64," + Base64.getEncoder().encodeToString(bytes.toByteArray());
+            }
+            writeJpeg(scaleToWidth(original, width, true), bytes, 0.5f);
+            return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            log.warn("Could not create placeholder for poster {}", fileName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Resolves the file to serve for the requested width: the smallest existing
+     * variant at least as wide as requested, or the original poster otherwise.
+     *
+     * @param path     the poster directory
+     * @param fileName the name of the original poster
+     * @param width    the requested width, or null for the original
+     * @return the path of the poster file to serve, relative to the poster directory
+     */
+    public String resolveVariant(String path, String fileName, Integer width) {
+        if (width == null || width <= 0) {
+            return fileName;
+        }
+        for (int candidate : widths) {
+            String variantName = getVariantName(fileName, candidate);
+            if (candidate >= width && posterMetadataService.find(variantName).isPresent()) {
+                return variantName;
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Loads the metadata of the given posters and all their variants into the
+     * metadata cache, so the first requests for them do not reach the database.
+     *
+     * @param fileNames the names of the original posters
+     */
+    public void preloadMetadata(Collection<String> fileNames) {
+        List<String> names = new ArrayList<>(fileNames.size() * (widths.length + 1));
+        for (String fileName : fileNames) {
+            names.add(fileName);
+            for (int width : widths) {
+                names.add(getVariantName(fileName, width));
+            }
+        }
+        posterMetadataService.preload(names);
+    }
+
+    /**
+     * Deletes all variants of the given poster.
+     *
+     * @param path     the poster directory
+     * @param fileName the name of the original poster
+     * @throws IOException if a variant could not be deleted
+     */
+    public void deleteVariants(String path, String fileName) throws IOException {
+        for (int width : widths) {
+            Files.deleteIfExists(getVariantPath(path, fileName, width));
+            posterMetadataService.remove(getVariantName(fileName, width));
+        }
+    }
+
+    // Helper method to build the directory name holding the variants of one width
+    private String getVariantDirectory(int width) {
+        return "w" + width;
+    }
+
+    // Helper method to build the name of a variant relative to the poster directory
+    private String getVariantName(String fileName, int width) {
+        return getVariantDirectory(width) + "/" + fileName;
+    }
+
+    // Helper method to build the full path of a variant
+    private Path getVariantPath(String path, String fileName, int width) {
+        return Paths.get(path, getVariantDirectory(width), fileName);
+    }
+
+    // Helper method to map a detected media type to the ImageIO format of its variants
+    private String getVariantFormat(String mediaType) {
+        if (MediaType.IMAGE_JPEG_VALUE.equals(mediaType)) {
+            return "jpg";
+        }
+        if (MediaType.IMAGE_PNG_VALUE.equals(mediaType)) {
+            return "png";
+        }
+        return null;
+    }
+
+    // Helper method to find the format of a stored poster, falling back to the file extension
+    // for posters stored before media types were recorded
+    private String getPosterFormat(String fileName) {
+        return posterMetadataService.find(fileName)
+                .map(posterFile -> getVariantFormat(posterFile.getMediaType()))
+                .orElseGet(() -> getFormatFromExtension(fileName));
+    }
+
+    // Helper method to map a poster file name to an ImageIO format
+    private String getFormatFromExtension(String fileName) {
+        String lowerCaseName = fileName.toLowerCase();
+        if (lowerCaseName.endsWith(".jpg") || lowerCaseName.endsWith(".jpeg")) {
+            return "jpg";
+        }
+        if (lowerCaseName.endsWith(".png")) {
+            return "png";
+        }
+        return null;
+    }
+
+    // Downscales by repeated halving before the final step to avoid aliasing on large posters.
+    // At least one pass always runs, so the result is in the requested pixel type.
+    private BufferedImage scaleToWidth(BufferedImage source, int width, boolean opaque) {
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            int nextWidth = Math.max(currentWidth / 2, width);
+            int nextHeight = Math.max(1, (int) Math.round((double) source.getHeight() * nextWidth / source.getWidth()));
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > width);
+
+        return current;
+    }
+
+    // Writes to a temporary file first so readers never observe a partially written variant
+    private void writeAtomically(BufferedImage image, String format, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        try {
+            if ("jpg".equals(format)) {
+                try (OutputStream output = Files.newOutputStream(temp)) {
+                    writeJpeg(image, output, jpegQuality);
+                }
+            } else {
+                ImageIO.write(image, format, temp.toFile());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Helper method to write a JPEG with the given quality
+    private void writeJpeg(BufferedImage image, OutputStream target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -5,5 +5,15 @@ public class AppConstants {
 	public static final int PAGE_SIZE=3;
 	public static final String SORT_BY="movieId";
 	public static final String SORT_DIR="asc";
+	public static final int SEARCH_LIMIT=20;
+	public static final int SUGGEST_LIMIT=10;
+	public static final int FACET_LIMIT=20;
+	public static final int FACET_YEAR_BUCKET=10;
+	public static final int TRENDING_LIMIT=10;
+	public static final int SIMILAR_LIMIT=10;
+	public static final int MAX_BATCH_SIZE=100;
+	public static final int CATALOG_BATCH_SIZE=1000;
+	public static final String CATALOG_VERSION_HEADER="X-Catalog-Version";
+	public static final String STALE_DATA_HEADER="X-Stale-Data";
 	
 }
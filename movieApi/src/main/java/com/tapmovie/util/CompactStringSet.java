@@ -0,0 +1,69 @@
+package com.tapmovie.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable set of strings backed by a plain array, for small sets such as a
+ * movie's cast. It costs one array instead of a hash table with an entry object
+ * per element; lookups scan the array, which is cheap at these sizes.
+ */
+public final class CompactStringSet extends AbstractSet<String> {
+
+    private static final CompactStringSet EMPTY = new CompactStringSet(new String[0]);
+
+    private final String[] elements;
+
+    private CompactStringSet(String[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Creates a set of the distinct non-null strings, keeping their iteration order.
+     *
+     * @param strings the strings, may be null
+     * @return the immutable set
+     */
+    public static Set<String> copyOf(Collection<String> strings) {
+        if (strings == null || strings.isEmpty()) {
+            return EMPTY;
+        }
+        Collection<String> distinct = strings instanceof Set ? strings : new LinkedHashSet<>(strings);
+        return wrap(distinct.stream().filter(string -> string != null).toArray(String[]::new));
+    }
+
+    /**
+     * Wraps an array of distinct non-null strings without copying it.
+     * The caller must not modify the array afterwards.
+     *
+     * @param strings the strings
+     * @return the immutable set
+     */
+    public static Set<String> wrap(String[] strings) {
+        return strings.length == 0 ? EMPTY : new CompactStringSet(strings);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        for (String element : elements) {
+            if (element.equals(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return Arrays.asList(elements).iterator();
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tapmovie;
+
+import java.util.Set;
+
+import com.tapmovie.dto.MovieDto;
+
+/**
+ * Movies built for tests, with placeholder values for the fields a test does not care about.
+ */
+public final class MovieFixtures {
+
+	private MovieFixtures() {
+	}
+
+	public static MovieDto movie(int movieId, String title) {
+		return movie(movieId, title, "Director", "Studio", Set.of("Actor"));
+	}
+
+	public static MovieDto movie(int movieId, String title, String director, String studio, Set<String> cast) {
+		return movie(movieId, title, director, studio, cast, 2000);
+	}
+
+	public static MovieDto movie(int movieId, String title, String director, String studio, Set<String> cast,
+			Integer releaseYear) {
+		return new MovieDto(movieId, title, director, studio, cast, releaseYear, "poster.png", null, null);
+	}
+}
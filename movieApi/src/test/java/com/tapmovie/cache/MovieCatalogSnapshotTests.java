@@ -0,0 +1,117 @@
+package com.tapmovie.cache;
+
+import static com.tapmovie.MovieFixtures.movie;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tapmovie.cache.MovieCatalogSnapshot.Snapshot;
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.event.MovieChangedEvent;
+import com.tapmovie.event.MovieChangedEvent.ChangeType;
+import com.tapmovie.service.MovieService;
+import com.tapmovie.util.AppConstants;
+
+class MovieCatalogSnapshotTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final MovieService movieService = mock(MovieService.class);
+
+	private final List<MovieDto> catalog = new ArrayList<>();
+
+	private long catalogVersion = 1;
+
+	private MovieCatalogSnapshot movieCatalogSnapshot;
+
+	@BeforeEach
+	void setUp() {
+		// The catalog is read in keyset batches, as the service does
+		when(movieService.getCatalogVersion()).thenAnswer(invocation -> catalogVersion);
+		when(movieService.getMoviesAfter(anyInt(), anyInt())).thenAnswer(invocation -> {
+			Integer lastId = invocation.getArgument(0);
+			Integer limit = invocation.getArgument(1);
+			return catalog.stream().filter(movie -> movie.getMovieId() > lastId).limit(limit).toList();
+		});
+
+		// Rebuilds run on the calling thread
+		movieCatalogSnapshot = new MovieCatalogSnapshot(movieService, objectMapper, Runnable::run);
+	}
+
+	@Test
+	void snapshotHoldsTheWholeCatalogAsPlainAndGzippedJson() throws Exception {
+		for (int movieId = 1; movieId <= AppConstants.CATALOG_BATCH_SIZE + 1; movieId++) {
+			catalog.add(movie(movieId, "Title " + movieId));
+		}
+
+		Snapshot snapshot = movieCatalogSnapshot.current();
+
+		List<MovieDto> movies = objectMapper.readValue(snapshot.json(), new TypeReference<List<MovieDto>>() {
+		});
+		assertEquals(AppConstants.CATALOG_BATCH_SIZE + 1, movies.size());
+		assertEquals("Title " + (AppConstants.CATALOG_BATCH_SIZE + 1), movies.get(movies.size() - 1).getTitle());
+		assertArrayEquals(snapshot.json(), gunzip(snapshot.gzippedJson()));
+		assertEquals(1, snapshot.version());
+		assertEquals("\"1\"", snapshot.etag());
+	}
+
+	@Test
+	void movieChangesRebuildTheSnapshotAtTheNewVersion() throws Exception {
+		catalog.add(movie(1, "Old title"));
+		Snapshot first = movieCatalogSnapshot.current();
+
+		catalog.set(0, movie(1, "New title"));
+		catalogVersion = 2;
+		movieCatalogSnapshot.onMovieChanged(new MovieChangedEvent(ChangeType.UPDATED, 1, catalog.get(0), 2));
+
+		Snapshot second = movieCatalogSnapshot.current();
+		assertNotSame(first, second);
+		assertEquals("\"2\"", second.etag());
+		assertTrue(new String(second.json()).contains("New title"));
+	}
+
+	@Test
+	void unchangedVersionKeepsTheCurrentSnapshot() {
+		catalog.add(movie(1, "Title"));
+		Snapshot first = movieCatalogSnapshot.current();
+
+		movieCatalogSnapshot.onMovieChanged(new MovieChangedEvent(ChangeType.UPDATED, 1, catalog.get(0), 1));
+
+		assertSame(first, movieCatalogSnapshot.current());
+	}
+
+	@Test
+	void ifNoneMatchAcceptsTheCurrentTagWeakTagsListsAndWildcard() {
+		Snapshot snapshot = new Snapshot(7, "\"7\"", new byte[0], new byte[0]);
+
+		assertTrue(snapshot.matches("\"7\""));
+		assertTrue(snapshot.matches("W/\"7\""));
+		assertTrue(snapshot.matches("\"6\", \"7\""));
+		assertTrue(snapshot.matches("*"));
+		assertFalse(snapshot.matches("\"6\""));
+		assertFalse(snapshot.matches(null));
+	}
+
+	private static byte[] gunzip(byte[] bytes) throws IOException {
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return gzip.readAllBytes();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.tapmovie.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final SingleFlight<Integer, String> singleFlight = new SingleFlight<>("movie", meterRegistry);
+
+	private final CountDownLatch loading = new CountDownLatch(1);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.load(1, () -> {
+			calls.incrementAndGet();
+			awaitRelease();
+			return "Heat";
+		}));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.load(1, () -> {
+			calls.incrementAndGet();
+			return "Not shared";
+		}));
+		awaitCoalesced(1);
+		release.countDown();
+
+		assertEquals("Heat", first.get(5, TimeUnit.SECONDS));
+		assertEquals("Heat", second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, calls.get());
+		assertEquals(1, counter("movie.reads.loads"));
+		assertEquals(1, counter("movie.reads.coalesced"));
+	}
+
+	@Test
+	void failureIsSharedAndNotRetained() throws Exception {
+		IllegalStateException failure = new IllegalStateException("database down");
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.load(1, () -> {
+			awaitRelease();
+			throw failure;
+		}));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.load(1, () -> "Not shared"));
+		awaitCoalesced(1);
+		release.countDown();
+
+		assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+		assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS)).getCause());
+
+		// The failed load is forgotten, so the next caller loads again
+		assertEquals("Heat", singleFlight.load(1, () -> "Heat"));
+		assertEquals(2, counter("movie.reads.loads"));
+	}
+
+	@Test
+	void differentKeysLoadSeparately() {
+		assertEquals("Heat", singleFlight.load(1, () -> "Heat"));
+		assertEquals("Ronin", singleFlight.load(2, () -> "Ronin"));
+
+		assertEquals(2, counter("movie.reads.loads"));
+		assertEquals(0, counter("movie.reads.coalesced"));
+	}
+
+	// Helper method to signal the load started and block until the test releases it
+	private void awaitRelease() {
+		loading.countDown();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Helper method to wait until the given number of callers joined the load in flight
+	private void awaitCoalesced(long expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (counter("movie.reads.coalesced") < expected && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+	}
+
+	private long counter(String name) {
+		return (long) meterRegistry.get(name).counter().count();
+	}
+}
@@ -0,0 +1,128 @@
+package com.tapmovie.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tapmovie.cache.SlidingHeavyHitters.Count;
+
+class SlidingHeavyHittersTests {
+
+	@Test
+	void ranksTheMostFrequentKeysWithTheirCounts() {
+		SlidingHeavyHitters sketch = new SlidingHeavyHitters(4, 4, 1024, 16);
+		add(sketch, 7, 30);
+		add(sketch, 3, 20);
+		add(sketch, 9, 10);
+
+		assertEquals(List.of(new Count(7, 30), new Count(3, 20)), sketch.top(2));
+		assertEquals(List.of(new Count(7, 30), new Count(3, 20), new Count(9, 10)), sketch.top(5));
+	}
+
+	@Test
+	void countsLeaveTheWindowWithTheirBucket() {
+		SlidingHeavyHitters sketch = new SlidingHeavyHitters(3, 4, 1024, 16);
+		add(sketch, 1, 5);
+		sketch.advance();
+		add(sketch, 2, 3);
+		sketch.advance();
+
+		assertEquals(5, sketch.estimate(1));
+		assertEquals(List.of(new Count(1, 5), new Count(2, 3)), sketch.top(10));
+
+		// The bucket holding the views of key 1 is reused
+		sketch.advance();
+
+		assertEquals(0, sketch.estimate(1));
+		assertEquals(List.of(new Count(2, 3)), sketch.top(10));
+
+		sketch.advance();
+
+		assertEquals(List.of(), sketch.top(10));
+	}
+
+	@Test
+	void estimatesNeverUndercountAndStayCloseToTheTrueCounts() {
+		SlidingHeavyHitters sketch = new SlidingHeavyHitters(2, 4, 512, 64);
+		Map<Integer, Long> counts = new HashMap<>();
+		Random random = new Random(42);
+		int total = 50_000;
+		for (int i = 0; i < total; i++) {
+			// Skewed keys: low IDs are far more frequent
+			int key = 1 + (int) Math.abs(random.nextGaussian() * 200);
+			sketch.add(key);
+			counts.merge(key, 1L, Long::sum);
+		}
+
+		for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+			long estimate = sketch.estimate(entry.getKey());
+			assertTrue(estimate >= entry.getValue());
+			assertTrue(estimate - entry.getValue() <= total / 100, "overcount of key " + entry.getKey());
+		}
+	}
+
+	@Test
+	void candidatesAreBoundedButRisingKeysAreStillAdmitted() {
+		SlidingHeavyHitters sketch = new SlidingHeavyHitters(2, 4, 1024, 4);
+		for (int key = 1; key <= 10; key++) {
+			add(sketch, key, key);
+		}
+
+		// Only the first keys fit into the candidate slots
+		assertEquals(List.of(4, 3, 2, 1), keys(sketch.top(10)));
+
+		// Ranking few keys frees the slots below the upper half, and raises the admission
+		// threshold to the lowest count kept (3)
+		assertEquals(List.of(4), keys(sketch.top(1)));
+		add(sketch, 13, 2);
+		add(sketch, 11, 5);
+		add(sketch, 12, 50);
+
+		assertEquals(List.of(12, 11, 4, 3), keys(sketch.top(10)));
+	}
+
+	@Test
+	void removedKeysAreNoLongerRanked() {
+		SlidingHeavyHitters sketch = new SlidingHeavyHitters(2, 4, 1024, 16);
+		add(sketch, 1, 5);
+		add(sketch, 2, 3);
+
+		sketch.remove(1);
+
+		assertEquals(List.of(new Count(2, 3)), sketch.top(10));
+	}
+
+	@Test
+	void concurrentAddsAreAllCounted() throws Exception {
+		SlidingHeavyHitters sketch = new SlidingHeavyHitters(2, 4, 1024, 16);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Thread thread = new Thread(() -> add(sketch, 1, 10_000));
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(40_000, sketch.estimate(1));
+	}
+
+	// Helper method to count a key the given number of times
+	private static void add(SlidingHeavyHitters sketch, int key, int times) {
+		for (int i = 0; i < times; i++) {
+			sketch.add(key);
+		}
+	}
+
+	private static List<Integer> keys(List<Count> counts) {
+		return counts.stream().map(Count::key).toList();
+	}
+}
@@ -0,0 +1,123 @@
+package com.tapmovie.index;
+
+import static com.tapmovie.MovieFixtures.movie;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.tapmovie.dto.MovieDto;
+
+class MovieCatalogStoreTests {
+
+	private static final String BASE_URL = "http://localhost:8080";
+
+	private final MovieCatalogStore store = new MovieCatalogStore(true, BASE_URL);
+
+	@Test
+	void storedMovieIsDecodedWithAllItsFields() {
+		store.index(new MovieDto(1, "Amélie", "Jean-Pierre Jeunet", "UGC", Set.of("Audrey Tautou", "Mathieu Kassovitz"),
+				2001, "amelie.png", null, "data:image/jpeg;base64,AAAA"));
+		store.index(new MovieDto(2, "Untitled", null, null, null, null, "untitled.png", null, null));
+
+		MovieDto movie = store.get(1);
+		assertEquals("Amélie", movie.getTitle());
+		assertEquals("Jean-Pierre Jeunet", movie.getDirector());
+		assertEquals("UGC", movie.getStudio());
+		assertEquals(Set.of("Audrey Tautou", "Mathieu Kassovitz"), movie.getMovieCast());
+		assertEquals(2001, movie.getReleaseYear());
+		assertEquals("amelie.png", movie.getPoster());
+		assertEquals(BASE_URL + "/file/amelie.png", movie.getPosterUrl());
+		assertEquals("data:image/jpeg;base64,AAAA", movie.getPlaceholder());
+
+		MovieDto untitled = store.get(2);
+		assertNull(untitled.getDirector());
+		assertNull(untitled.getStudio());
+		assertTrue(untitled.getMovieCast().isEmpty());
+		assertNull(untitled.getReleaseYear());
+		assertNull(untitled.getPlaceholder());
+		assertNull(store.get(3));
+	}
+
+	@Test
+	void reindexingReplacesAndRemovalDeletesTheMovie() {
+		store.index(movie(1, "Old title"));
+		store.index(movie(1, "New title"));
+
+		assertEquals(1, store.size());
+		assertEquals("New title", store.get(1).getTitle());
+
+		store.remove(1);
+		store.remove(42); // Not stored
+
+		assertEquals(0, store.size());
+		assertNull(store.get(1));
+	}
+
+	@Test
+	void pagesAreOrderedByIdInBothDirections() {
+		for (int movieId : List.of(5, 3, 9, 1, 7)) {
+			store.index(movie(movieId, "Title " + movieId));
+		}
+
+		assertEquals(List.of(1, 3), ids(store.getPage(0, 2, true)));
+		assertEquals(List.of(5, 7), ids(store.getPage(2, 2, true)));
+		assertEquals(List.of(9, 7, 5), ids(store.getPage(0, 3, false)));
+		assertEquals(List.of(1), ids(store.getPage(4, 3, false)));
+		assertEquals(List.of(), ids(store.getPage(5, 3, true)));
+	}
+
+	@Test
+	void randomWritesMatchAReferenceMap() {
+		// Enough movies to grow the ID map and arena, and enough rewrites to compact the arena
+		Random random = new Random(42);
+		Map<Integer, String> expected = new HashMap<>();
+		String padding = "x".repeat(500);
+		for (int i = 0; i < 20_000; i++) {
+			int movieId = 1 + random.nextInt(5_000);
+			if (random.nextInt(4) == 0) {
+				store.remove(movieId);
+				expected.remove(movieId);
+			} else {
+				String title = "Title " + i + padding;
+				store.index(movie(movieId, title));
+				expected.put(movieId, title);
+			}
+		}
+
+		assertEquals(expected.size(), store.size());
+		for (int movieId = 1; movieId <= 5_000; movieId++) {
+			MovieDto movie = store.get(movieId);
+			assertEquals(expected.get(movieId), movie != null ? movie.getTitle() : null);
+		}
+		List<Integer> sortedIds = new ArrayList<>(expected.keySet());
+		Collections.sort(sortedIds);
+		assertEquals(sortedIds, ids(store.getPage(0, expected.size(), true)));
+	}
+
+	@Test
+	void disabledStoreKeepsNothingAndNeverReportsLoaded() {
+		MovieCatalogStore disabled = new MovieCatalogStore(false, BASE_URL);
+
+		disabled.index(movie(1, "Title"));
+		disabled.loaded();
+
+		assertEquals(0, disabled.size());
+		assertNull(disabled.get(1));
+		assertFalse(disabled.isLoaded());
+	}
+
+	private static List<Integer> ids(List<MovieDto> movies) {
+		return movies.stream().map(MovieDto::getMovieId).toList();
+	}
+}
@@ -0,0 +1,68 @@
+package com.tapmovie.index;
+
+import static com.tapmovie.MovieFixtures.movie;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MovieFacetIndexTests {
+
+	private final MovieFacetIndex index = new MovieFacetIndex();
+
+	@Test
+	void countsMoviesPerStudioDirectorAndYear() {
+		index.index(movie(1, "Title", "Michael Mann", "Warner Bros", Set.of(), 1995));
+		index.index(movie(2, "Title", "Michael Mann", "Universal", Set.of(), 1995));
+		index.index(movie(3, "Title", "Ridley Scott", "Warner Bros", Set.of(), 1982));
+
+		assertEquals(Map.of("Warner Bros", 2L, "Universal", 1L), index.getStudioCounts());
+		assertEquals(Map.of("Michael Mann", 2L, "Ridley Scott", 1L), index.getDirectorCounts());
+		assertEquals(Map.of(1995, 2L, 1982, 1L), index.getReleaseYearCounts());
+	}
+
+	@Test
+	void reindexingMovesTheCountsOfTheOldState() {
+		index.index(movie(1, "Title", "Michael Mann", "Warner Bros", Set.of(), 1995));
+		index.index(movie(1, "Title", "Michael Mann", "Universal", Set.of(), 2004));
+
+		assertEquals(Map.of("Universal", 1L), index.getStudioCounts());
+		assertEquals(Map.of("Michael Mann", 1L), index.getDirectorCounts());
+		assertEquals(Map.of(2004, 1L), index.getReleaseYearCounts());
+	}
+
+	@Test
+	void removalDropsCountersThatReachZero() {
+		index.index(movie(1, "Title", "Michael Mann", "Warner Bros", Set.of(), 1995));
+		index.index(movie(2, "Title", "Ridley Scott", "Warner Bros", Set.of(), 1982));
+
+		index.remove(1);
+		index.remove(42); // Not indexed
+
+		assertEquals(Map.of("Warner Bros", 1L), index.getStudioCounts());
+		assertEquals(Map.of("Ridley Scott", 1L), index.getDirectorCounts());
+		assertEquals(Map.of(1982, 1L), index.getReleaseYearCounts());
+	}
+
+	@Test
+	void missingValuesAreNotCounted() {
+		index.index(movie(1, "Title", null, "Warner Bros", Set.of(), null));
+
+		assertEquals(Map.of("Warner Bros", 1L), index.getStudioCounts());
+		assertTrue(index.getDirectorCounts().isEmpty());
+		assertTrue(index.getReleaseYearCounts().isEmpty());
+	}
+
+	@Test
+	void isLoadedOnlyAfterTheInitialLoad() {
+		assertFalse(index.isLoaded());
+
+		index.loaded();
+
+		assertTrue(index.isLoaded());
+	}
+}
@@ -0,0 +1,85 @@
+package com.tapmovie.index;
+
+import static com.tapmovie.MovieFixtures.movie;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.event.MovieChangedEvent;
+import com.tapmovie.event.MovieChangedEvent.ChangeType;
+import com.tapmovie.service.MovieService;
+
+class MovieIndexUpdaterTests {
+
+	private final MovieService movieService = mock(MovieService.class);
+
+	private final MovieCatalogStore store = new MovieCatalogStore(true, "http://localhost:8080");
+
+	private final MovieIndexUpdater updater = new MovieIndexUpdater(List.of(store), movieService);
+
+	@Test
+	void changesCommittedDuringTheLoadAreAppliedAfterIt() {
+		// The scan reads movies 1 and 2, then changes to both commit before the scan ends
+		when(movieService.getMoviesAfter(eq(0), anyInt())).thenAnswer(invocation -> {
+			List<MovieDto> page = List.of(movie(1, "Deleted"), movie(2, "Old title"));
+			updater.onMovieChanged(new MovieChangedEvent(ChangeType.DELETED, 1, null, 2));
+			updater.onMovieChanged(new MovieChangedEvent(ChangeType.UPDATED, 2, movie(2, "New title"), 3));
+			return page;
+		});
+
+		updater.loadIndexes();
+
+		assertNull(store.get(1));
+		assertEquals("New title", store.get(2).getTitle());
+		assertTrue(store.isLoaded());
+	}
+
+	@Test
+	void changesAfterTheLoadAreAppliedImmediately() {
+		when(movieService.getMoviesAfter(eq(0), anyInt())).thenReturn(List.of(movie(1, "Title")));
+		updater.loadIndexes();
+
+		updater.onMovieChanged(new MovieChangedEvent(ChangeType.CREATED, 2, movie(2, "Created"), 2));
+		updater.onMovieChanged(new MovieChangedEvent(ChangeType.DELETED, 1, null, 3));
+
+		assertNull(store.get(1));
+		assertEquals("Created", store.get(2).getTitle());
+	}
+
+	@Test
+	void changesDeliveredOutOfOrderKeepTheNewestState() {
+		when(movieService.getMoviesAfter(eq(0), anyInt())).thenReturn(List.of(movie(1, "Title"), movie(2, "Title")));
+		updater.loadIndexes();
+
+		// The listeners of concurrent commits deliver the newer change of each movie first
+		updater.onMovieChanged(new MovieChangedEvent(ChangeType.UPDATED, 1, movie(1, "Newer title"), 3));
+		updater.onMovieChanged(new MovieChangedEvent(ChangeType.UPDATED, 1, movie(1, "Older title"), 2));
+		updater.onMovieChanged(new MovieChangedEvent(ChangeType.DELETED, 2, null, 5));
+		updater.onMovieChanged(new MovieChangedEvent(ChangeType.UPDATED, 2, movie(2, "Older title"), 4));
+
+		assertEquals("Newer title", store.get(1).getTitle());
+		assertNull(store.get(2));
+	}
+
+	@Test
+	void bufferedChangesAreReplayedByVersionNotArrival() {
+		when(movieService.getMoviesAfter(eq(0), anyInt())).thenAnswer(invocation -> {
+			updater.onMovieChanged(new MovieChangedEvent(ChangeType.UPDATED, 1, movie(1, "Newer title"), 3));
+			updater.onMovieChanged(new MovieChangedEvent(ChangeType.UPDATED, 1, movie(1, "Older title"), 2));
+			return List.of(movie(1, "Older title"));
+		});
+
+		updater.loadIndexes();
+
+		assertEquals("Newer title", store.get(1).getTitle());
+	}
+}
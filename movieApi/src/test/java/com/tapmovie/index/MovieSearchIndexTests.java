@@ -0,0 +1,84 @@
+package com.tapmovie.index;
+
+import static com.tapmovie.MovieFixtures.movie;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MovieSearchIndexTests {
+
+	private final MovieSearchIndex index = new MovieSearchIndex();
+
+	@Test
+	void titleMatchesRankAboveStudioMatches() {
+		index.index(movie(1, "Ronin", "John Frankenheimer", "Heat Pictures", Set.of()));
+		index.index(movie(2, "Heat", "Michael Mann", "Warner Bros", Set.of()));
+
+		assertEquals(List.of(2, 1), index.search("heat", 10));
+	}
+
+	@Test
+	void exactMatchesRankAbovePrefixMatches() {
+		index.index(movie(1, "Heathers", "Michael Lehmann", "New World", Set.of()));
+		index.index(movie(2, "Heat", "Michael Mann", "Warner Bros", Set.of()));
+
+		assertEquals(List.of(2, 1), index.search("heat", 10));
+		assertEquals(List.of(1), index.search("heath", 10));
+	}
+
+	@Test
+	void everyTokenMustMatch() {
+		index.index(movie(1, "Heat", "Michael Mann", "Warner Bros", Set.of("Al Pacino", "Robert De Niro")));
+		index.index(movie(2, "Heathers", "Michael Lehmann", "New World", Set.of("Winona Ryder")));
+
+		assertEquals(List.of(1), index.search("pacino hea", 10));
+		assertEquals(List.of(), index.search("pacino ryder", 10));
+	}
+
+	@Test
+	void queriesAreCaseFoldedAndStrippedOfDiacritics() {
+		index.index(movie(1, "Amélie", "Jean-Pierre Jeunet", "UGC", Set.of("Audrey Tautou")));
+
+		assertEquals(List.of(1), index.search("AMELIE", 10));
+		assertEquals(List.of(1), index.search("jean pierre", 10));
+	}
+
+	@Test
+	void tiesAreBrokenByAscendingIdUpToTheLimit() {
+		for (int movieId = 5; movieId >= 1; movieId--) {
+			index.index(movie(movieId, "Alien " + movieId, "Director", "Studio", Set.of()));
+		}
+
+		assertEquals(List.of(1, 2, 3), index.search("alien", 3));
+		assertEquals(List.of(), index.search("alien", 0));
+	}
+
+	@Test
+	void reindexingAndRemovalReplaceTheOldTerms() {
+		index.index(movie(1, "Old title", "Director", "Studio", Set.of()));
+		index.index(movie(1, "New title", "Director", "Studio", Set.of()));
+
+		assertEquals(List.of(), index.search("old", 10));
+		assertEquals(List.of(1), index.search("new", 10));
+
+		index.remove(1);
+
+		assertEquals(List.of(), index.search("new", 10));
+	}
+
+	@Test
+	void shortPrefixesExpandToTheMostCommonCompletions() {
+		// One common completion and more rare completions than a prefix expands to
+		for (int movieId = 1; movieId <= 100; movieId++) {
+			index.index(movie(movieId, "Star " + movieId, "Director", "Paramount", Set.of()));
+		}
+		for (int movieId = 101; movieId <= 200; movieId++) {
+			index.index(movie(movieId, "Sa" + movieId, "Director", "Paramount", Set.of()));
+		}
+
+		assertEquals(100, index.search("s", 1000).stream().filter(movieId -> movieId <= 100).count());
+	}
+}
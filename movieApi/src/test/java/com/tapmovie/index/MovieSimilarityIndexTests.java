@@ -0,0 +1,82 @@
+package com.tapmovie.index;
+
+import static com.tapmovie.MovieFixtures.movie;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MovieSimilarityIndexTests {
+
+	private final MovieSimilarityIndex index = new MovieSimilarityIndex(5000);
+
+	@Test
+	void sharedDirectorsCastAndStudiosAreWeighted() {
+		index.index(movie(1, "Title", "Michael Mann", "Warner Bros", Set.of("Al Pacino", "Robert De Niro")));
+		index.index(movie(2, "Title", "Michael Mann", "Universal", Set.of())); // Director: 3
+		index.index(movie(3, "Title", "Brian De Palma", "Universal", Set.of("Al Pacino", "Robert De Niro"))); // Cast: 2 + 2
+		index.index(movie(4, "Title", "Ridley Scott", "Warner Bros", Set.of())); // Studio: 1
+		index.index(movie(5, "Title", "Ridley Scott", "Paramount", Set.of("Russell Crowe"))); // Nothing shared
+
+		assertEquals(List.of(3, 2, 4), index.similar(1, 10));
+		assertEquals(List.of(3, 2), index.similar(1, 2));
+	}
+
+	@Test
+	void namesAreMatchedIgnoringCaseAndSurroundingSpaces() {
+		index.index(movie(1, "Title", "Michael Mann", "Warner Bros", Set.of()));
+		index.index(movie(2, "Title", " MICHAEL MANN ", "Universal", Set.of()));
+
+		assertEquals(List.of(2), index.similar(1, 10));
+	}
+
+	@Test
+	void tiesAreBrokenByAscendingId() {
+		index.index(movie(5, "Title", "Michael Mann", "Studio A", Set.of()));
+		index.index(movie(3, "Title", "Michael Mann", "Studio B", Set.of()));
+		index.index(movie(9, "Title", "Michael Mann", "Studio C", Set.of()));
+		index.index(movie(1, "Title", "Michael Mann", "Studio D", Set.of()));
+
+		assertEquals(List.of(1, 3, 9), index.similar(5, 10));
+	}
+
+	@Test
+	void reindexingAndRemovalReplaceTheOldFeatures() {
+		index.index(movie(1, "Title", "Michael Mann", "Warner Bros", Set.of()));
+		index.index(movie(2, "Title", "Michael Mann", "Universal", Set.of()));
+		index.index(movie(3, "Title", "Ridley Scott", "Paramount", Set.of()));
+
+		index.index(movie(2, "Title", "Ridley Scott", "Universal", Set.of()));
+
+		assertEquals(List.of(), index.similar(1, 10));
+		assertEquals(List.of(2), index.similar(3, 10));
+
+		index.remove(2);
+
+		assertEquals(List.of(), index.similar(3, 10));
+		assertEquals(List.of(), index.similar(2, 10));
+	}
+
+	@Test
+	void featuresSharedByTooManyMoviesAreIgnored() {
+		MovieSimilarityIndex bounded = new MovieSimilarityIndex(2);
+		bounded.index(movie(1, "Title", "Michael Mann", "Warner Bros", Set.of()));
+		bounded.index(movie(2, "Title", "Michael Mann", "Warner Bros", Set.of()));
+		bounded.index(movie(3, "Title", "Ridley Scott", "Warner Bros", Set.of()));
+
+		// The studio has three movies and no longer counts; the director still does
+		assertEquals(List.of(2), bounded.similar(1, 10));
+		assertEquals(List.of(), bounded.similar(3, 10));
+	}
+
+	@Test
+	void unknownMoviesAndEmptyLimitsHaveNoSimilarMovies() {
+		index.index(movie(1, "Title", "Michael Mann", "Warner Bros", Set.of()));
+		index.index(movie(2, "Title", "Michael Mann", "Warner Bros", Set.of()));
+
+		assertEquals(List.of(), index.similar(42, 10));
+		assertEquals(List.of(), index.similar(1, 0));
+	}
+}
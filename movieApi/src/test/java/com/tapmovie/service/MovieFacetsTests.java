@@ -0,0 +1,94 @@
+package com.tapmovie.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tapmovie.dto.MovieFacetsResponse;
+import com.tapmovie.dto.MovieFilter;
+import com.tapmovie.entity.Movie;
+import com.tapmovie.repositories.MovieRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MovieFacetsTests {
+
+	// Studio of the movies saved by these tests, so movies of other tests do not affect the counts
+	private static final String STUDIO = "Facet Test Studio";
+
+	@Autowired
+	private MovieService movieService;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private CatalogNameService catalogNameService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		movieRepository.deleteAll(movieRepository.findAll().stream()
+				.filter(movie -> STUDIO.equals(movie.getStudio()))
+				.toList());
+		saveMovie("Facet Director A", 1991);
+		saveMovie("Facet Director A", 1995);
+		saveMovie("Facet Director B", 2003);
+	}
+
+	@Test
+	void filteredFacetsAreGroupedAndBucketedByYear() {
+		MovieFacetsResponse facets = movieService.getMovieFacets(studioFilter(), 10, 10);
+
+		assertEquals(Map.of(STUDIO, 3L), facets.studios());
+		assertEquals(Map.of("Facet Director A", 2L, "Facet Director B", 1L), facets.directors());
+		assertEquals(List.of("1990-1999", "2000-2009"), List.copyOf(facets.releaseYears().keySet()));
+		assertEquals(Map.of("1990-1999", 2L, "2000-2009", 1L), facets.releaseYears());
+	}
+
+	@Test
+	void facetsAreOrderedByDescendingCountAndLimited() {
+		MovieFacetsResponse facets = movieService.getMovieFacets(studioFilter(), 1, 1);
+
+		assertEquals(Map.of("Facet Director A", 2L), facets.directors());
+		assertEquals(1, facets.releaseYears().size());
+	}
+
+	@Test
+	void negativeLimitReturnsNoFacetValues() {
+		MovieFacetsResponse facets = movieService.getMovieFacets(studioFilter(), 10, -1);
+
+		assertTrue(facets.studios().isEmpty());
+		assertTrue(facets.directors().isEmpty());
+		assertTrue(facets.releaseYears().isEmpty());
+	}
+
+	// Helper method to filter on the studio of the movies saved by these tests
+	private static MovieFilter studioFilter() {
+		return new MovieFilter(null, STUDIO, null, null, null);
+	}
+
+	// Helper method to insert a movie directly, without a poster upload; the names are linked as addMovie
+	// does, since filtered facets group on the linked IDs
+	private void saveMovie(String director, Integer releaseYear) {
+		Movie movie = new Movie(null, "Facet title", director, STUDIO, new HashSet<>(Set.of("Actor")),
+				releaseYear, "poster.png");
+		transactionTemplate.executeWithoutResult(status -> {
+			catalogNameService.link(List.of(movie));
+			movieRepository.save(movie);
+		});
+	}
+}
@@ -0,0 +1,118 @@
+package com.tapmovie.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.tapmovie.dto.MovieImportResponse;
+import com.tapmovie.dto.MovieImportResponse.ImportError;
+import com.tapmovie.entity.Movie;
+import com.tapmovie.repositories.MovieRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MovieImportTests {
+
+	private static final String POSTER = "import-poster.png";
+
+	@Autowired
+	private MovieService movieService;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Value("${project.poster}")
+	private String path;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// Imported rows must reference an already uploaded poster, which is decoded for the placeholder
+		Path poster = Paths.get(path, POSTER);
+		Files.createDirectories(poster.getParent());
+		ImageIO.write(new BufferedImage(40, 60, BufferedImage.TYPE_INT_RGB), "png", poster.toFile());
+	}
+
+	@Test
+	void importsValidRowsAndReportsRejectedRowsByLine() throws Exception {
+		MovieImportResponse response = importLines(
+				row("Imported one", "Director", "\"Actor\""),
+				"",
+				"{not json",
+				"{\"title\":\"No director\",\"studio\":\"Studio\",\"releaseYear\":2000,\"poster\":\"" + POSTER + "\"}",
+				row("Imported two", "Director", "\" \""),
+				row("Imported two", "Director", "\"Actor\"").replace(POSTER, "missing.png"),
+				row("Imported two", "Director", "\"Actor\""));
+
+		assertEquals(2, response.imported());
+		assertEquals(4, response.failed());
+		assertEquals(List.of(3L, 4L, 5L, 6L), response.errors().stream().map(ImportError::line).toList());
+		assertEquals("Please provide movie's director", response.errors().get(1).message());
+		assertEquals("Please provide movie's cast member", response.errors().get(2).message());
+		assertEquals("Poster not found: missing.png", response.errors().get(3).message());
+
+		assertEquals(Set.of("Actor"), findByTitle("Imported one").getMovieCast());
+		assertEquals("Director", findByTitle("Imported two").getDirector());
+		assertTrue(findByTitle("Imported one").getPlaceholder().startsWith("data:image/png;base64,"));
+	}
+
+	@Test
+	void rejectsValuesLongerThanTheirColumn() throws Exception {
+		MovieImportResponse response = importLines(
+				row("T".repeat(201), "Director", "\"Actor\""),
+				row("Long director", "D".repeat(256), "\"Actor\""),
+				row("Long cast member", "Director", "\"" + "A".repeat(256) + "\""));
+
+		assertEquals(0, response.imported());
+		assertEquals(3, response.failed());
+		assertEquals("Movie's title must be at most 200 characters", response.errors().get(0).message());
+		assertEquals("Movie's director must be at most 255 characters", response.errors().get(1).message());
+		assertEquals("Movie's cast member must be at most 255 characters", response.errors().get(2).message());
+	}
+
+	@Test
+	void rejectsPostersOutsideThePosterDirectory() throws Exception {
+		MovieImportResponse response = importLines(
+				row("Escaping poster", "Director", "\"Actor\"").replace(POSTER, "../" + POSTER));
+
+		assertEquals(0, response.imported());
+		assertEquals(List.of(new ImportError(1, "Poster not found: ../" + POSTER)), response.errors());
+	}
+
+	// Helper method to import the given lines as one NDJSON stream
+	private MovieImportResponse importLines(String... lines) throws Exception {
+		byte[] ndjson = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+		return movieService.importMovies(new ByteArrayInputStream(ndjson));
+	}
+
+	// Helper method to build a valid NDJSON row referencing the uploaded poster
+	private static String row(String title, String director, String cast) {
+		return "{\"title\":\"" + title + "\",\"director\":\"" + director + "\",\"studio\":\"Studio\","
+				+ "\"movieCast\":[" + cast + "],\"releaseYear\":2000,\"poster\":\"" + POSTER + "\"}";
+	}
+
+	// Helper method to look up an imported movie by its unique title
+	private Movie findByTitle(String title) {
+		return movieRepository.findAll().stream()
+				.filter(movie -> title.equals(movie.getTitle()))
+				.findFirst()
+				.orElseThrow();
+	}
+}
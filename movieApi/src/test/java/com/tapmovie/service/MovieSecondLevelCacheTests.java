@@ -0,0 +1,155 @@
+package com.tapmovie.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.tapmovie.dto.MovieDto;
+import com.tapmovie.dto.MovieFilter;
+import com.tapmovie.entity.Movie;
+import com.tapmovie.repositories.MovieRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MovieSecondLevelCacheTests {
+
+	private static final String MOVIE_REGION = Movie.class.getName();
+	private static final String CAST_REGION = Movie.class.getName() + ".movieCast";
+
+	@Autowired
+	private MovieService movieService;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void movieIsServedFromSecondLevelCache() {
+		Integer movieId = saveMovie("Heat", Set.of("Al Pacino"));
+
+		loadMovie(movieId);
+		long hits = statistics.getSecondLevelCacheHitCount();
+		loadMovie(movieId);
+
+		assertTrue(statistics.getSecondLevelCacheHitCount() > hits);
+	}
+
+	@Test
+	void movieAndCastRegionStatisticsAreExposed() {
+		Integer movieId = saveMovie("Ronin", Set.of("Robert De Niro"));
+		CacheRegionStatistics movieRegion = statistics.getDomainDataRegionStatistics(MOVIE_REGION);
+		CacheRegionStatistics castRegion = statistics.getDomainDataRegionStatistics(CAST_REGION);
+
+		loadMovie(movieId);
+		long movieHits = movieRegion.getHitCount();
+		long castHits = castRegion.getHitCount();
+		double meteredHits = regionHits(MOVIE_REGION);
+		loadMovie(movieId);
+
+		// The second load hits both regions, and the actuator metrics report the same hits
+		assertTrue(movieRegion.getHitCount() > movieHits);
+		assertTrue(castRegion.getHitCount() > castHits);
+		assertTrue(regionHits(MOVIE_REGION) > meteredHits);
+		assertEquals(movieRegion.getHitCount(), (long) regionHits(MOVIE_REGION));
+		assertEquals(castRegion.getHitCount(), (long) regionHits(CAST_REGION));
+	}
+
+	@Test
+	void updateMovieInvalidatesCachedMovieCastAndPages() throws Exception {
+		Integer movieId = saveMovie("Old title", Set.of("Old actor"));
+
+		// Warm the entity, collection and query caches
+		assertEquals("Old title", loadMovie(movieId).getTitle());
+		assertEquals("Old title", findOnFirstPage(movieId).getTitle());
+
+		movieService.updateMovie(movieId, new MovieDto(movieId, "New title", "Director", "Studio",
+				new HashSet<>(Set.of("New actor")), 2001, null, null, null), null);
+
+		Movie movie = loadMovie(movieId);
+		assertEquals("New title", movie.getTitle());
+		assertEquals(Set.of("New actor"), movie.getMovieCast());
+
+		MovieDto listed = findOnFirstPage(movieId);
+		assertEquals("New title", listed.getTitle());
+		assertEquals(Set.of("New actor"), listed.getMovieCast());
+	}
+
+	@Test
+	void deleteMovieInvalidatesCachedMovieAndPages() throws Exception {
+		Integer movieId = saveMovie("Deleted title", Set.of("Actor"));
+
+		// Warm the entity, collection and query caches
+		loadMovie(movieId);
+		findOnFirstPage(movieId);
+		assertTrue(entityManagerFactory.getCache().contains(Movie.class, movieId));
+
+		movieService.deleteMovie(movieId);
+
+		// READ_WRITE regions keep a soft lock for the deleted key, so check that no cached entry is served
+		CacheRegionStatistics movieRegion = statistics.getDomainDataRegionStatistics(MOVIE_REGION);
+		long hits = movieRegion.getHitCount();
+		assertNull(loadMovie(movieId));
+		assertEquals(hits, movieRegion.getHitCount());
+		assertNull(findOnFirstPage(movieId));
+	}
+
+	// Helper method to insert a movie directly, without a poster upload
+	private Integer saveMovie(String title, Set<String> cast) {
+		Movie movie = new Movie(null, title, "Director", "Studio", new HashSet<>(cast), 2000, "poster.png");
+		return movieRepository.save(movie).getMovieId();
+	}
+
+	// Helper method to load a movie in a fresh persistence context, so only the second-level cache can help
+	private Movie loadMovie(Integer movieId) {
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			return entityManager.find(Movie.class, movieId); // The cast is fetched eagerly
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	// Helper method to read the second-level cache hits of a region from the metrics published by hibernate-micrometer
+	private double regionHits(String region) {
+		return meterRegistry.get("hibernate.second.level.cache.requests")
+				.tags("region", region, "result", "hit")
+				.functionCounter()
+				.count();
+	}
+
+	// Helper method to look up a movie in the (query-cached) first page of the listing
+	private MovieDto findOnFirstPage(Integer movieId) {
+		List<MovieDto> movies = movieService.getAllMoviesWithPagination(0, 100, MovieFilter.NONE, true).movieDtos();
+		return movies.stream().filter(movie -> movie.getMovieId().equals(movieId)).findFirst().orElse(null);
+	}
+}
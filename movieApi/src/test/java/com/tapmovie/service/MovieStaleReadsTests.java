@@ -0,0 +1,101 @@
+package com.tapmovie.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tapmovie.entity.Movie;
+import com.tapmovie.repositories.MovieRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// A short TTL lets entries expire, and become due for a refresh, within a test. This context gets its own
+// database, as recreating the shared schema would invalidate the name caches of the other test context
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:stale-reads;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+		"project.movie-cache.ttl=PT1S", "project.movie-cache.refresh-ahead=0.5" })
+@ActiveProfiles("test")
+class MovieStaleReadsTests {
+
+	@Autowired
+	private MovieService movieService;
+
+	@SpyBean
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private CatalogNameService catalogNameService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void expiredCopyIsServedWhenTheDatabaseFails() throws Exception {
+		Integer movieId = saveMovie("Stale title");
+		movieService.getMovie(movieId);
+		double staleServes = staleServes();
+
+		Thread.sleep(1100);
+		doThrow(new DataAccessResourceFailureException("Database down")).when(movieRepository).findRowById(movieId);
+
+		assertEquals("Stale title", movieService.getMovie(movieId).getTitle());
+		assertEquals(staleServes + 1, staleServes());
+	}
+
+	@Test
+	void failureIsRethrownWithoutARetainedCopy() {
+		Integer movieId = saveMovie("Never cached");
+		doThrow(new DataAccessResourceFailureException("Database down")).when(movieRepository).findRowById(movieId);
+
+		assertThrows(DataAccessException.class, () -> movieService.getMovie(movieId));
+	}
+
+	@Test
+	void entryReadLateInItsLifetimeIsReloadedInTheBackground() throws Exception {
+		Integer movieId = saveMovie("Popular title");
+		clearInvocations(movieRepository);
+		movieService.getMovie(movieId);
+
+		// Past the refresh point (half the TTL) but not expired: served from the cache, reloaded once
+		Thread.sleep(600);
+		assertEquals("Popular title", movieService.getMovie(movieId).getTitle());
+		assertEquals("Popular title", movieService.getMovie(movieId).getTitle());
+
+		verify(movieRepository, timeout(5000).times(2)).findRowById(movieId);
+	}
+
+	// Helper method to insert a movie directly, without a poster upload, linking its names as addMovie does
+	private Integer saveMovie(String title) {
+		Movie movie = new Movie(null, title, "Stale Director", "Stale Studio", new HashSet<>(Set.of("Actor")),
+				2000, "poster.png");
+		transactionTemplate.executeWithoutResult(status -> {
+			catalogNameService.link(List.of(movie));
+			movieRepository.save(movie);
+		});
+		return movie.getMovieId();
+	}
+
+	private double staleServes() {
+		return meterRegistry.get("movie.cache.stale.serves").counter().count();
+	}
+}
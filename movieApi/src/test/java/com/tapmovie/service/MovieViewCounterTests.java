@@ -0,0 +1,85 @@
+package com.tapmovie.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.tapmovie.entity.Movie;
+import com.tapmovie.repositories.MovieRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MovieViewCounterTests {
+
+	@Autowired
+	private MovieViewCounter movieViewCounter;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void everyViewIsAddedOnce() {
+		Integer movieId = saveMovie("Viewed");
+
+		record(movieId, 3);
+		movieViewCounter.flush();
+		movieViewCounter.flush();
+
+		assertEquals(3, popularity(movieId));
+
+		record(movieId, 1);
+		movieViewCounter.flush();
+
+		assertEquals(4, popularity(movieId));
+	}
+
+	@Test
+	void failedFlushAddsNothingAndIsRetriedWhole() {
+		Integer viewed = saveMovie("Viewed");
+		Integer overflowing = saveMovie("Overflowing");
+
+		// Adding a view to the second movie overflows its popularity, failing the batch
+		setPopularity(overflowing, Long.MAX_VALUE);
+		record(viewed, 2);
+		record(overflowing, 1);
+		movieViewCounter.flush();
+
+		assertEquals(0, popularity(viewed));
+
+		setPopularity(overflowing, 0);
+		movieViewCounter.flush();
+
+		assertEquals(2, popularity(viewed));
+		assertEquals(1, popularity(overflowing));
+	}
+
+	// Helper method to insert a movie directly, without a poster upload
+	private Integer saveMovie(String title) {
+		Movie movie = new Movie(null, title, "Director", "Studio", new HashSet<>(Set.of("Actor")), 2000, "poster.png");
+		return movieRepository.save(movie).getMovieId();
+	}
+
+	private void record(Integer movieId, int views) {
+		for (int i = 0; i < views; i++) {
+			movieViewCounter.record(movieId);
+		}
+	}
+
+	private long popularity(Integer movieId) {
+		return jdbcTemplate.queryForObject("SELECT popularity FROM movie WHERE movie_id = ?", Long.class, movieId);
+	}
+
+	private void setPopularity(Integer movieId, long popularity) {
+		jdbcTemplate.update("UPDATE movie SET popularity = ? WHERE movie_id = ?", popularity, movieId);
+	}
+}
@@ -0,0 +1,122 @@
+package com.tapmovie.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tapmovie.entity.Movie;
+import com.tapmovie.event.PosterReplacedEvent;
+import com.tapmovie.repositories.MovieRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PosterCleanupListenerTests {
+
+	@Value("${project.poster}")
+	private String path;
+
+	@Autowired
+	@Qualifier("posterTaskExecutor")
+	private Executor posterTaskExecutor;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private CatalogNameService catalogNameService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void committedReplacementDeletesThePreviousPoster() throws Exception {
+		String previous = createPoster();
+		String current = createPoster();
+
+		publish(new PosterReplacedEvent(previous, current), false);
+
+		assertFalse(Files.exists(Paths.get(path, previous)));
+		assertTrue(Files.exists(Paths.get(path, current)));
+	}
+
+	@Test
+	void rolledBackReplacementDeletesTheUploadedPoster() throws Exception {
+		String previous = createPoster();
+		String current = createPoster();
+
+		publish(new PosterReplacedEvent(previous, current), true);
+
+		assertFalse(Files.exists(Paths.get(path, current)));
+		assertTrue(Files.exists(Paths.get(path, previous)));
+	}
+
+	@Test
+	void posterStillReferencedByAnotherMovieIsKept() throws Exception {
+		String shared = createPoster();
+		saveMovie(shared);
+
+		publish(new PosterReplacedEvent(shared, null), false);
+
+		assertTrue(Files.exists(Paths.get(path, shared)));
+	}
+
+	// Helper method to publish an event in a transaction that commits or rolls back, and wait for the
+	// listener it submits to the poster executor
+	private void publish(PosterReplacedEvent event, boolean rollback) throws InterruptedException {
+		transactionTemplate.executeWithoutResult(status -> {
+			eventPublisher.publishEvent(event);
+			if (rollback) {
+				status.setRollbackOnly();
+			}
+		});
+
+		ThreadPoolExecutor executor = ((ThreadPoolTaskExecutor) posterTaskExecutor).getThreadPoolExecutor();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (executor.getCompletedTaskCount() < executor.getTaskCount() && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	// Helper method to write a poster file under a fresh uploader-style name
+	private String createPoster() throws IOException {
+		String fileName = UUID.randomUUID() + "_poster.png";
+		Path file = Paths.get(path, fileName);
+		Files.createDirectories(file.getParent());
+		Files.write(file, new byte[] { 1 });
+		return fileName;
+	}
+
+	// Helper method to insert a movie referencing a poster, linking its names as addMovie does
+	private void saveMovie(String poster) {
+		Movie movie = new Movie(null, "Cleanup title", "Cleanup Director", "Cleanup Studio",
+				new HashSet<>(Set.of("Actor")), 2000, poster);
+		transactionTemplate.executeWithoutResult(status -> {
+			catalogNameService.link(List.of(movie));
+			movieRepository.save(movie);
+		});
+	}
+}
@@ -0,0 +1,103 @@
+package com.tapmovie.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tapmovie.repositories.MovieRepository;
+
+class PosterGarbageCollectorTests {
+
+	private static final String REFERENCED = "00000000-0000-0000-0000-000000000001_referenced.png";
+	private static final String ORPHANED = "00000000-0000-0000-0000-000000000002_orphaned.png";
+	private static final String RECENT = "00000000-0000-0000-0000-000000000003_recent.png";
+
+	@TempDir
+	Path directory;
+
+	private final MovieRepository movieRepository = mock(MovieRepository.class);
+
+	private final FileService fileService = mock(FileService.class);
+
+	private final PosterMetadataService posterMetadataService = mock(PosterMetadataService.class);
+
+	private PosterGarbageCollector collector;
+
+	@BeforeEach
+	void setUp() {
+		when(movieRepository.findReferencedPosters(anyList())).thenAnswer(invocation -> {
+			List<String> posters = invocation.getArgument(0);
+			return posters.stream().filter(REFERENCED::equals).toList();
+		});
+
+		collector = new PosterGarbageCollector(movieRepository, fileService, posterMetadataService);
+		ReflectionTestUtils.setField(collector, "path", directory.toString());
+		ReflectionTestUtils.setField(collector, "enabled", true);
+		ReflectionTestUtils.setField(collector, "batchSize", 2);
+		ReflectionTestUtils.setField(collector, "gracePeriod", Duration.ofHours(24));
+		ReflectionTestUtils.setField(collector, "maxDeletesPerRun", 100);
+		ReflectionTestUtils.setField(collector, "batchPause", Duration.ZERO);
+	}
+
+	@Test
+	void onlyOldUnreferencedUploadsAreDeleted() throws Exception {
+		createFile(directory.resolve(REFERENCED), true);
+		createFile(directory.resolve(ORPHANED), true);
+		createFile(directory.resolve(RECENT), false);
+		createFile(directory.resolve("warm-up-snapshot.bin"), true);
+
+		collector.collect();
+
+		verify(fileService).deleteFile(directory.toString(), ORPHANED);
+		verify(fileService, never()).deleteFile(any(), eq(REFERENCED));
+		verify(fileService, never()).deleteFile(any(), eq(RECENT));
+		verify(fileService, never()).deleteFile(any(), eq("warm-up-snapshot.bin"));
+	}
+
+	@Test
+	void orphanedVariantsAndTemporaryFilesAreDeletedButOtherFilesKept() throws Exception {
+		Path variants = Files.createDirectory(directory.resolve("w200"));
+		createFile(directory.resolve(REFERENCED), true);
+		Path kept = createFile(variants.resolve(REFERENCED), true);
+		Path orphaned = createFile(variants.resolve(ORPHANED), true);
+		Path temporary = createFile(variants.resolve(".variant-123.tmp"), true);
+		Path foreign = createFile(variants.resolve("notes.txt"), true);
+
+		collector.collect();
+
+		assertTrue(Files.exists(kept));
+		assertFalse(Files.exists(orphaned));
+		assertFalse(Files.exists(temporary));
+		assertTrue(Files.exists(foreign));
+		verify(posterMetadataService).remove("w200/" + ORPHANED);
+		verify(posterMetadataService, never()).remove("w200/notes.txt");
+	}
+
+	// Helper method to create a file, aged past the grace period if requested
+	private static Path createFile(Path file, boolean old) throws IOException {
+		Files.write(file, new byte[] { 1 });
+		if (old) {
+			Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+		}
+		return file;
+	}
+}